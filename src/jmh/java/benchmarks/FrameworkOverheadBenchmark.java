@@ -0,0 +1,117 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+
+import base.StubWebDriver;
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.InventoryPage;
+import pages.LoginPage;
+import utils.ConfigReader;
+import utils.ScreenshotUtil;
+import utils.WaitUtils;
+
+/**
+ * Framework-side cost of the operations every test performs, measured against
+ * a stub WebDriver so browser time is excluded: waits that succeed on the
+ * first check, config lookups, page object construction, ExtentReports
+ * logging and screenshot capture (the file write itself runs in the background).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameworkOverheadBenchmark {
+
+	private static final Path SCREENSHOT_DIR = Paths.get("reports/screenshots");
+
+	private final By continueButton = By.id("continue");
+	private StubWebDriver driver;
+	private ExtentReports extent;
+	private long screenshotCount;
+
+	@Setup(Level.Trial)
+	public void setupDriver() {
+		driver = new StubWebDriver().withElement(continueButton, "Continue");
+	}
+
+	// A fresh report per iteration keeps the logged tests from piling up in the heap
+	@Setup(Level.Iteration)
+	public void setupReport() {
+		extent = new ExtentReports();
+	}
+
+	@TearDown(Level.Iteration)
+	public void deleteScreenshots() throws IOException {
+		ScreenshotUtil.awaitPendingWrites(30);
+		if (!Files.isDirectory(SCREENSHOT_DIR)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(SCREENSHOT_DIR, "jmh-*")) {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	@Benchmark
+	public WebElement waitForVisibility() {
+		return WaitUtils.waitForVisibility(driver, continueButton);
+	}
+
+	@Benchmark
+	public WebElement waitForClickability() {
+		return WaitUtils.waitForClickability(driver, continueButton);
+	}
+
+	@Benchmark
+	public String configLookup() {
+		return ConfigReader.getProperty("baseUrl");
+	}
+
+	@Benchmark
+	public void constructPageObjects(Blackhole blackhole) {
+		blackhole.consume(new LoginPage(driver));
+		blackhole.consume(new InventoryPage(driver));
+		blackhole.consume(new CartPage(driver));
+		blackhole.consume(new CheckoutPage(driver));
+	}
+
+	@Benchmark
+	public ExtentTest extentLogging() {
+		ExtentTest test = extent.createTest("benchmark");
+		test.info("step");
+		return test.pass("Test passed");
+	}
+
+	@Benchmark
+	public String screenshotWrite() {
+		return ScreenshotUtil.captureScreenShots(driver, "jmh-" + screenshotCount++);
+	}
+}
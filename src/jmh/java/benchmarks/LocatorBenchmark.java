@@ -0,0 +1,90 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import pages.LoginPage;
+import utils.DriverFactory;
+import utils.LocalSwagLabsServer;
+import utils.WaitUtils;
+
+/**
+ * Lookup cost of the locator strategies used by the page objects, measured in
+ * a real session of the configured browser on the inventory page of the local
+ * stand-in server. Each invocation is one driver round trip, so the differences
+ * are the browser's selector evaluation time. Requires that browser on the machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+
+	private LocalSwagLabsServer server;
+	private WebDriver driver;
+
+	@Setup(Level.Trial)
+	public void openInventory() throws IOException {
+		server = new LocalSwagLabsServer(0);
+		server.start();
+		driver = DriverFactory.createDriver();
+		driver.get(server.getUrl());
+		new LoginPage(driver).login("standard_user", "secret_sauce");
+		WaitUtils.waitForPresence(driver, By.id("inventory_container"));
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		driver.quit();
+		server.stop();
+	}
+
+	@Benchmark
+	public WebElement byId() {
+		return driver.findElement(By.id("inventory_container"));
+	}
+
+	@Benchmark
+	public List<WebElement> byClassName() {
+		return driver.findElements(By.className("inventory_item_name"));
+	}
+
+	@Benchmark
+	public List<WebElement> byXpathButtonText() {
+		return driver.findElements(By.xpath("//button[text()= 'Add to cart']"));
+	}
+
+	@Benchmark
+	public List<WebElement> byDataTestPrefix() {
+		return driver.findElements(By.cssSelector("[data-test^='add-to-cart']"));
+	}
+
+	@Benchmark
+	public WebElement byXpathTitleText() {
+		return driver.findElement(By.xpath("//span[text()='Products']"));
+	}
+
+	@Benchmark
+	public WebElement byDataTestTitle() {
+		return driver.findElement(By.cssSelector("[data-test='title']"));
+	}
+}
@@ -0,0 +1,141 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import base.StubWebDriver;
+import utils.DriverPool;
+import utils.IoThreads;
+
+/**
+ * Platform versus virtual threads for the framework's I/O-bound work, with
+ * every chromedriver command simulated as a 2 ms blocking call.
+ *
+ * blockingIo: bursts of teardown-like tasks (four commands each) on the
+ * executor the framework itself uses, IoThreads.newPerTaskExecutor: a cached
+ * pool of platform threads (one per concurrent task) with threads.virtual=false,
+ * one virtual thread per task with threads.virtual=true.
+ *
+ * sessionRecycle: four test threads checking sessions out of a DriverPool and
+ * handing them back; with virtual threads the reset runs in the background.
+ * Peak platform thread counts are printed after every iteration.
+ *
+ * The virtual variants need Java 21: mvn test-compile exec:exec -Pbenchmark,java21
+ * -Djmh.include=ThreadModelBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+	private static final int TASKS = 200;
+	private static final int COMMANDS_PER_TASK = 4;
+	private static final long COMMAND_MILLIS = 2;
+
+	@Param({ "platform", "virtual" })
+	public String threads;
+
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+	private ExecutorService executor;
+	private DriverPool pool;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		System.setProperty("threads.virtual", String.valueOf(threads.equals("virtual")));
+		if (threads.equals("virtual") && !IoThreads.isVirtual()) {
+			throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+		}
+		executor = IoThreads.newPerTaskExecutor("benchmark-io");
+		pool = new DriverPool(ThreadModelBenchmark::slowDriver, 8, Integer.MAX_VALUE, 60);
+		pool.warmUp(8);
+		threadBean.resetPeakThreadCount();
+	}
+
+	@TearDown(Level.Iteration)
+	public void printThreads() {
+		System.out.printf("%n%s: peak platform threads %d, %s%n", threads, threadBean.getPeakThreadCount(),
+				IoThreads.getStats());
+		threadBean.resetPeakThreadCount();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+		pool.shutdown();
+		System.clearProperty("threads.virtual");
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TASKS)
+	public void blockingIo() throws Exception {
+		List<Future<?>> tasks = new ArrayList<>(TASKS);
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(executor.submit(() -> {
+				for (int command = 0; command < COMMANDS_PER_TASK; command++) {
+					chromedriverCall();
+				}
+			}));
+		}
+		for (Future<?> task : tasks) {
+			task.get();
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void sessionRecycle() {
+		DriverPool.Session session = pool.checkout();
+		chromedriverCall();
+		pool.release(session, true);
+	}
+
+	private static void chromedriverCall() {
+		try {
+			TimeUnit.MILLISECONDS.sleep(COMMAND_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// A stub session that blocks on every command like a chromedriver round trip
+	private static WebDriver slowDriver() {
+		StubWebDriver stub = new StubWebDriver();
+		return (WebDriver) Proxy.newProxyInstance(ThreadModelBenchmark.class.getClassLoader(),
+				new Class<?>[] { WebDriver.class, JavascriptExecutor.class }, (proxy, method, args) -> {
+					chromedriverCall();
+					try {
+						return method.invoke(stub, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+}
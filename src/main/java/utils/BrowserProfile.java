@@ -0,0 +1,117 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-session browser user data directories.
+ *
+ * Every session gets its own directory under the system temp dir so parallel
+ * sessions never share a profile. Directories are deleted when the session is
+ * quit, and whatever is left (e.g. after a crash) is removed when the JVM exits.
+ *
+ * A session can start from a template profile instead of an empty one: either
+ * browser.profileTemplate from config.properties, or a minimal template created
+ * once per run that already skips the first-run and welcome pages.
+ */
+public class BrowserProfile {
+
+    private static final Set<Path> live = ConcurrentHashMap.newKeySet();
+    private static Path generatedTemplate;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> live.forEach(BrowserProfile::delete), "profile-cleanup"));
+    }
+
+    /**
+     * Creates a fresh user data directory, copied from the template when requested.
+     */
+    public static Path create(String browser, boolean fromTemplate) {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), browser + "-user-data-" + UUID.randomUUID());
+        try {
+            if (fromTemplate) {
+                copy(template(), dir);
+            } else {
+                Files.createDirectories(dir);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create browser profile " + dir, e);
+        }
+        live.add(dir);
+        return dir;
+    }
+
+    /**
+     * Deletes a directory created by {@link #create}. Failures are only logged:
+     * the browser may still hold a lock file for a moment after quit.
+     */
+    public static void delete(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            live.remove(dir);
+            return;
+        }
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                    Files.deleteIfExists(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            live.remove(dir);
+        } catch (IOException e) {
+            System.out.println("⚠️ Failed to delete browser profile " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized Path template() throws IOException {
+        String configured = ConfigReader.getProperty("browser.profileTemplate", "");
+        if (!configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        if (generatedTemplate == null) {
+            Path dir = Files.createTempDirectory("chrome-profile-template-");
+            Files.createDirectories(dir.resolve("Default"));
+            // Chrome skips first-run work when this marker exists
+            Files.createFile(dir.resolve("First Run"));
+            Files.write(dir.resolve("Default").resolve("Preferences"), ("{"
+                    + "\"browser\":{\"has_seen_welcome_page\":true,\"check_default_browser\":false},"
+                    + "\"credentials_enable_service\":false,"
+                    + "\"profile\":{\"password_manager_enabled\":false,\"default_content_setting_values\":{\"notifications\":2}}"
+                    + "}").getBytes(StandardCharsets.UTF_8));
+            live.add(dir);
+            generatedTemplate = dir;
+        }
+        return generatedTemplate;
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path destination = target.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+}
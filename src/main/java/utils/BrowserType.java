@@ -0,0 +1,284 @@
+package utils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * The browsers the suite can run on, selected with "browser" in config.properties.
+ *
+ * The driver binary (chromedriver, geckodriver) of each browser is resolved
+ * once per JVM by {@link DriverBinaryResolver}, the first time a session of
+ * that browser is started, and every session start is recorded in a
+ * per-browser latency histogram.
+ *
+ * All browsers honour browser.mode: headed (default), headless, or minimal,
+ * which is headless with images and background work turned off.
+ */
+public enum BrowserType {
+
+    CHROME("chromedriver", "webdriver.chrome.driver", "google-chrome", "google-chrome-stable") {
+        @Override
+        void downloadDriver() {
+            WebDriverManager.chromedriver().setup();
+        }
+
+        @Override
+        WebDriver create() {
+            return createChrome(ConfigReader.getProperty("browser.binary", ""));
+        }
+    },
+
+    /** Open-source Chromium build driven by chromedriver, e.g. the distro package on a plain Linux box. */
+    CHROMIUM("chromedriver", "webdriver.chrome.driver", "chromium", "chromium-browser") {
+        @Override
+        void downloadDriver() {
+            WebDriverManager.chromiumdriver().setup();
+        }
+
+        @Override
+        WebDriver create() {
+            String binary = findBrowserBinary();
+            if (binary.isEmpty()) {
+                throw new RuntimeException("No chromium or chromium-browser"
+                        + " executable found on PATH; set browser.binary in config.properties");
+            }
+            return createChrome(binary);
+        }
+    },
+
+    FIREFOX("geckodriver", "webdriver.gecko.driver", "firefox") {
+        @Override
+        void downloadDriver() {
+            WebDriverManager.firefoxdriver().setup();
+        }
+
+        @Override
+        WebDriver create() {
+            return createFirefox();
+        }
+    };
+
+    private static final Map<BrowserType, LatencyHistogram> startupLatency = new EnumMap<>(BrowserType.class);
+
+    private final String driverName;
+    private final String driverProperty;
+    private final String[] browserNames;
+
+    BrowserType(String driverName, String driverProperty, String... browserNames) {
+        this.driverName = driverName;
+        this.driverProperty = driverProperty;
+        this.browserNames = browserNames;
+    }
+
+    /** Online fallback for {@link DriverBinaryResolver}; sets {@link #getDriverProperty()}. */
+    abstract void downloadDriver();
+
+    abstract WebDriver create();
+
+    public String getDriverName() {
+        return driverName;
+    }
+
+    public String getDriverProperty() {
+        return driverProperty;
+    }
+
+    /**
+     * The browser executable: browser.binary, else the first of this browser's
+     * usual names on the PATH, else empty.
+     */
+    public String findBrowserBinary() {
+        String binary = ConfigReader.getProperty("browser.binary", "");
+        if (!binary.isEmpty()) {
+            return binary;
+        }
+        for (String dir : System.getenv().getOrDefault("PATH", "").split(File.pathSeparator)) {
+            for (String name : browserNames) {
+                File candidate = new File(dir, name);
+                if (candidate.canExecute()) {
+                    return candidate.getAbsolutePath();
+                }
+            }
+        }
+        return "";
+    }
+
+    public static BrowserType fromConfig() {
+        String browser = ConfigReader.getProperty("browser", "chrome");
+        try {
+            return valueOf(browser.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported browser '" + browser + "', expected one of "
+                    + Arrays.toString(values()).toLowerCase());
+        }
+    }
+
+    /**
+     * Resolves this browser's driver binary unless that already happened in this JVM.
+     */
+    public void resolveDriver() {
+        DriverBinaryResolver.resolve(this);
+    }
+
+    /**
+     * Starts a new session of this browser and records how long the start took.
+     */
+    public WebDriver start() {
+        resolveDriver();
+        long start = System.nanoTime();
+        WebDriver driver = create();
+        LatencyHistogram histogram;
+        synchronized (startupLatency) {
+            histogram = startupLatency.computeIfAbsent(this, key -> new LatencyHistogram());
+        }
+        histogram.recordSince(start);
+        return driver;
+    }
+
+    public static String getStartupSummary() {
+        StringBuilder summary = new StringBuilder();
+        Map<BrowserType, DriverBinaryResolver.Resolution> resolutions = DriverBinaryResolver.getResolutions();
+        synchronized (startupLatency) {
+            startupLatency.forEach((browser, histogram) -> summary.append(browser.name().toLowerCase())
+                    .append(": driver ").append(resolutions.get(browser)).append(", startup ")
+                    .append(histogram).append(System.lineSeparator()));
+        }
+        return summary.toString().trim();
+    }
+
+    private static boolean headless() {
+        String mode = mode();
+        return mode.equals("headless") || mode.equals("minimal");
+    }
+
+    private static boolean minimal() {
+        return mode().equals("minimal");
+    }
+
+    private static String mode() {
+        return ConfigReader.getProperty("browser.mode", "headed").toLowerCase();
+    }
+
+    private static String[] windowSize() {
+        return ConfigReader.getProperty("browser.windowSize", "1920,1080").split(",");
+    }
+
+    private static WebDriver createChrome(String binary) {
+        ChromeOptions options = new ChromeOptions();
+        if (!binary.isEmpty()) {
+            options.setBinary(binary);
+        }
+
+        options.addArguments("--disable-infobars");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--no-sandbox");                   // Required in Linux CI
+        options.addArguments("--disable-dev-shm-usage");        // Required in Linux CI
+        if (headless()) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + String.join(",", windowSize()));
+        }
+        if (minimal()) {
+            options.addArguments("--disable-gpu");
+            options.addArguments("--disable-extensions");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-sync");
+            options.addArguments("--no-first-run");
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        // Use a unique user data directory to avoid conflicts in parallel or repeated runs
+        Path userDataDir = BrowserProfile.create("chrome", minimal());
+        options.addArguments("--user-data-dir=" + userDataDir);
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        if (minimal()) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+        options.setExperimentalOption("prefs", prefs);
+        options.setExperimentalOption("excludeSwitches", Arrays.asList("enable-automation"));
+
+        WebDriver driver;
+        try {
+            driver = new ChromeDriver(options) {
+                @Override
+                public void quit() {
+                    try {
+                        super.quit();
+                    } finally {
+                        BrowserProfile.delete(userDataDir);
+                    }
+                }
+            };
+        } catch (RuntimeException e) {
+            BrowserProfile.delete(userDataDir);
+            throw e;
+        }
+        if (!headless()) {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+
+    private static WebDriver createFirefox() {
+        FirefoxOptions options = new FirefoxOptions();
+        String binary = ConfigReader.getProperty("browser.binary", "");
+        if (!binary.isEmpty()) {
+            options.setBinary(binary);
+        }
+
+        options.addPreference("signon.rememberSignons", false);
+        options.addPreference("dom.webnotifications.enabled", false);
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        if (headless()) {
+            String[] size = windowSize();
+            options.addArguments("-headless", "--width=" + size[0].trim(), "--height=" + size[1].trim());
+        }
+        if (minimal()) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("app.update.auto", false);
+            options.addPreference("browser.safebrowsing.malware.enabled", false);
+            options.addPreference("browser.safebrowsing.phishing.enabled", false);
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("extensions.update.enabled", false);
+            options.addPreference("network.prefetch-next", false);
+        }
+        Path profileDir = BrowserProfile.create("firefox", false);
+        options.addArguments("-profile", profileDir.toString());
+
+        WebDriver driver;
+        try {
+            driver = new FirefoxDriver(options) {
+                @Override
+                public void quit() {
+                    try {
+                        super.quit();
+                    } finally {
+                        BrowserProfile.delete(profileDir);
+                    }
+                }
+            };
+        } catch (RuntimeException e) {
+            BrowserProfile.delete(profileDir);
+            throw e;
+        }
+        if (!headless()) {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+}
@@ -2,6 +2,8 @@ package utils;
 
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class ConfigReader {
     private static final Properties properties = new Properties();
@@ -18,7 +20,48 @@ public class ConfigReader {
         }
     }
 
+    /**
+     * Returns the value for the given key. A JVM system property with the same
+     * name (e.g. -Dpool.size=4) takes precedence over config.properties.
+     */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        String override = System.getProperty(key);
+        return override != null ? override : properties.getProperty(key);
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Names of the keys starting with the given prefix, from config.properties
+     * and the JVM system properties.
+     */
+    public static Set<String> getPropertyNames(String prefix) {
+        Set<String> names = new TreeSet<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                names.add(name);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' is not a number: " + value);
+        }
     }
 }
@@ -0,0 +1,24 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Batched DOM reads: fetches the text of every element matching a CSS
+ * selector in one executeScript call instead of one getText() per element.
+ */
+public class DomReader {
+
+    private static final String TEXTS_SCRIPT =
+            "return Array.prototype.map.call(document.querySelectorAll(arguments[0]),"
+            + " function (e) { return e.textContent.trim(); });";
+
+    @SuppressWarnings("unchecked")
+    public static List<String> texts(WebDriver driver, String cssSelector) {
+        List<String> texts = (List<String>) ((JavascriptExecutor) driver).executeScript(TEXTS_SCRIPT, cssSelector);
+        return texts == null ? new ArrayList<>() : new ArrayList<>(texts);
+    }
+}
@@ -0,0 +1,227 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the driver binary (chromedriver, geckodriver) for a browser once per
+ * JVM and pins it through the webdriver.*.driver system property, so neither
+ * WebDriverManager nor Selenium Manager does any lookup when sessions start.
+ *
+ * Lookup order, first match wins:
+ * 1. driver.path.&lt;browser&gt; from config.properties (e.g. driver.path.firefox),
+ *    or the webdriver.*.driver system property
+ * 2. the newest matching binary in driver.cacheDir (default ~/.cache/selenium,
+ *    where WebDriverManager and Selenium Manager store their downloads); for
+ *    Chrome only a chromedriver of the installed Chrome's major version
+ * 3. the PATH, e.g. a distro chromedriver package. Chromium checks the PATH
+ *    before the cache: the distro chromedriver is built for the distro Chromium.
+ * 4. a WebDriverManager download, unless driver.offline=true
+ *
+ * With driver.offline=true nothing touches the network and a missing binary
+ * fails immediately with the locations that were searched.
+ */
+public class DriverBinaryResolver {
+
+    private static final Map<BrowserType, Resolution> resolved = new EnumMap<>(BrowserType.class);
+
+    public static Resolution resolve(BrowserType browser) {
+        synchronized (resolved) {
+            Resolution resolution = resolved.get(browser);
+            if (resolution == null) {
+                long start = System.nanoTime();
+                resolution = find(browser, start);
+                System.setProperty(browser.getDriverProperty(), resolution.getPath().toString());
+                resolved.put(browser, resolution);
+                System.out.println("✅ " + browser.getDriverName() + " resolved: " + resolution);
+            }
+            return resolution;
+        }
+    }
+
+    public static Map<BrowserType, Resolution> getResolutions() {
+        synchronized (resolved) {
+            return new EnumMap<>(resolved);
+        }
+    }
+
+    private static Resolution find(BrowserType browser, long start) {
+        String driverName = browser.getDriverName();
+        List<String> searched = new ArrayList<>();
+
+        if (!ConfigReader.getProperty("driver.path", "").isEmpty()) {
+            throw new RuntimeException("driver.path applies to every browser and was replaced by driver.path."
+                    + browser.name().toLowerCase(Locale.ROOT));
+        }
+        String key = "driver.path." + browser.name().toLowerCase(Locale.ROOT);
+        String configured = ConfigReader.getProperty(key, System.getProperty(browser.getDriverProperty(), ""));
+        if (!configured.isEmpty()) {
+            Path path = Paths.get(configured);
+            if (!Files.isExecutable(path)) {
+                throw new RuntimeException("Configured driver " + path + " does not exist or is not executable");
+            }
+            if (!path.getFileName().toString().startsWith(driverName)) {
+                throw new RuntimeException("Configured driver " + path + " (" + key + ") is not a " + driverName);
+            }
+            return new Resolution(path, "configured", start);
+        }
+
+        // the distro chromedriver on the PATH is the one built for the distro Chromium
+        boolean pathFirst = browser == BrowserType.CHROMIUM;
+        if (pathFirst) {
+            searched.add("PATH");
+            Optional<Path> onPath = findOnPath(driverName);
+            if (onPath.isPresent()) {
+                return new Resolution(onPath.get(), "PATH", start);
+            }
+        }
+
+        Path cacheDir = Paths.get(ConfigReader.getProperty("driver.cacheDir",
+                Paths.get(System.getProperty("user.home"), ".cache", "selenium").toString()));
+        int browserVersion = browser == BrowserType.FIREFOX ? -1 : majorVersion(browser.findBrowserBinary());
+        searched.add(browserVersion < 0 ? cacheDir.toString() : cacheDir + " (version " + browserVersion + ")");
+        Optional<Path> cached = findInCache(cacheDir, driverName, browserVersion);
+        if (cached.isPresent()) {
+            return new Resolution(cached.get(), "cache", start);
+        }
+
+        if (!pathFirst) {
+            searched.add("PATH");
+            Optional<Path> onPath = findOnPath(driverName);
+            if (onPath.isPresent()) {
+                return new Resolution(onPath.get(), "PATH", start);
+            }
+        }
+
+        if (Boolean.parseBoolean(ConfigReader.getProperty("driver.offline", "false"))) {
+            throw new RuntimeException("No " + driverName + " found offline (searched " + String.join(", ", searched)
+                    + "). Set driver.path." + browser.name().toLowerCase(Locale.ROOT)
+                    + " in config.properties or run once with driver.offline=false to download it.");
+        }
+        browser.downloadDriver();
+        String downloaded = System.getProperty(browser.getDriverProperty(), "");
+        if (downloaded.isEmpty()) {
+            throw new RuntimeException("WebDriverManager did not provide " + driverName);
+        }
+        return new Resolution(Paths.get(downloaded), "download", start);
+    }
+
+    private static Optional<Path> findOnPath(String driverName) {
+        for (String dir : System.getenv().getOrDefault("PATH", "").split(File.pathSeparator)) {
+            Path candidate = Paths.get(dir, driverName);
+            if (Files.isExecutable(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Major version of the given browser executable from its --version output,
+     * e.g. 126 for "Google Chrome 126.0.6478.126"; -1 when it cannot be told.
+     */
+    private static int majorVersion(String browserBinary) {
+        if (browserBinary.isEmpty()) {
+            return -1;
+        }
+        try {
+            Process process = new ProcessBuilder(browserBinary, "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return -1;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher version = Pattern.compile("(\\d+)\\.\\d+").matcher(output);
+            return version.find() ? Integer.parseInt(version.group(1)) : -1;
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Newest binary by version directory, e.g. chromedriver/linux64/126.0.6478.126/chromedriver,
+     * of the given major version unless that is -1.
+     */
+    private static Optional<Path> findInCache(Path cacheDir, String driverName, int majorVersion) {
+        if (!Files.isDirectory(cacheDir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(cacheDir, 6)) {
+            return files.filter(file -> file.getFileName().toString().equals(driverName))
+                    .filter(Files::isExecutable)
+                    .filter(file -> majorVersion < 0 || versionOf(file).stream().findFirst().orElse(-1) == majorVersion)
+                    .max(Comparator.comparing(DriverBinaryResolver::versionOf, DriverBinaryResolver::compareVersions));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static List<Integer> versionOf(Path binary) {
+        Path parent = binary.getParent();
+        String name = parent == null ? "" : parent.getFileName().toString();
+        return Stream.of(name.split("\\D+")).filter(part -> !part.isEmpty())
+                .map(part -> part.length() > 9 ? Integer.MAX_VALUE : Integer.parseInt(part))
+                .collect(Collectors.toList());
+    }
+
+    private static int compareVersions(List<Integer> a, List<Integer> b) {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            int result = Integer.compare(a.get(i), b.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    /**
+     * Where a driver binary came from and how long finding it took.
+     */
+    public static class Resolution {
+        private final Path path;
+        private final String source;
+        private final long nanos;
+
+        Resolution(Path path, String source, long startNanos) {
+            this.path = path;
+            this.source = source;
+            this.nanos = System.nanoTime() - startNanos;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public double getMillis() {
+            return nanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s, %.1f ms)", path, source, getMillis());
+        }
+    }
+}
@@ -1,23 +1,122 @@
 package utils;
 
+import java.util.function.Supplier;
+
 import org.openqa.selenium.WebDriver;
 
+/**
+ * Single source of truth for the browser session of the current thread.
+ *
+ * Sessions come from a shared {@link DriverPool} and are bound to the thread
+ * that checked them out, so tests, page objects and utilities running on a
+ * TestNG worker thread always see the same driver and never another thread's.
+ */
 public class DriverFactory {
-	
-	 private static ThreadLocal<WebDriver> tDriver = new ThreadLocal<>();
 
-	    public static WebDriver getDriver() {
-	        return tDriver.get();
-	    }
+	private static final ThreadLocal<WebDriver> tDriver = new ThreadLocal<>();
+	private static final ThreadLocal<DriverPool.Session> tSession = new ThreadLocal<>();
+	private static volatile DriverPool pool;
+
+	public static WebDriver getDriver() {
+		return tDriver.get();
+	}
+
+	public static void setDriver(WebDriver driver) {
+		tDriver.set(driver);
+	}
+
+	public static void unloadDriver() {
+		tDriver.remove();
+	}
+
+	/**
+	 * Creates the shared session pool backed by the configured browser. Calling it again is a no-op.
+	 * With timing.enabled every session is wrapped by {@link StepTimings}.
+	 */
+	public static synchronized void initPool() {
+		if (pool == null) {
+			NetworkMonitor.validateConfig();
+			BrowserType.fromConfig().resolveDriver();
+			if (Boolean.parseBoolean(ConfigReader.getProperty("timing.enabled", "true"))) {
+				initPool(() -> StepTimings.instrument(createDriver()));
+			} else {
+				initPool(DriverFactory::createDriver);
+			}
+		}
+	}
+
+	/**
+	 * Creates the shared session pool with a custom session factory. The pool is
+	 * sized to the larger of the worker and data-provider thread counts unless
+	 * pool.size is set; rows beyond that wait for a free session. pool.lookAhead
+	 * spare sessions start in the background ahead of the tests that need them.
+	 */
+	public static synchronized void initPool(Supplier<WebDriver> factory) {
+		shutdownPool();
+		// both counts are resolved to numbers by the suite listener; "auto" outside a suite means serial
+		int threads = Math.max(resolvedCount("thread.count"), resolvedCount("dataprovider.thread.count"));
+		int size = ConfigReader.getInt("pool.size", threads);
+		pool = new DriverPool(factory, size, ConfigReader.getInt("pool.maxReuse", 20),
+				ConfigReader.getInt("pool.checkoutTimeout", 120), ConfigReader.getInt("pool.lookAhead", 0));
+		pool.warmUp(ConfigReader.getInt("pool.warmup", 1));
+	}
+
+	/**
+	 * Checks a session out of the pool and binds it to the current thread.
+	 */
+	public static WebDriver startSession() {
+		if (tSession.get() != null) {
+			throw new IllegalStateException("Thread " + Thread.currentThread().getName()
+					+ " already holds a browser session; call endSession() first");
+		}
+		if (pool == null) {
+			initPool();
+		}
+		DriverPool.Session session = pool.checkout();
+		tSession.set(session);
+		tDriver.set(session.getDriver());
+		return session.getDriver();
+	}
+
+	/**
+	 * Returns the current thread's session to the pool and unbinds it.
+	 * @param healthy false to quit the session instead of reusing it
+	 */
+	public static void endSession(boolean healthy) {
+		DriverPool.Session session = tSession.get();
+		tSession.remove();
+		tDriver.remove();
+		if (session != null) {
+			pool.release(session, healthy);
+		}
+	}
 
-	    public static void setDriver(WebDriver driver) {
-	        tDriver.set(driver);
-	    }
+	public static synchronized void shutdownPool() {
+		if (pool != null) {
+			System.out.println("Driver pool: " + pool.getMetrics());
+			String startup = BrowserType.getStartupSummary();
+			if (!startup.isEmpty()) {
+				System.out.println("Browser startup: " + startup);
+			}
+			pool.shutdown();
+			pool = null;
+		}
+	}
 
-	    public static void unloadDriver() {
-	        tDriver.remove();
-	    }
+	private static int resolvedCount(String key) {
+		String value = ConfigReader.getProperty(key, "1");
+		return value.matches("\\d+") ? Integer.parseInt(value) : 1;
+	}
 
+	public static PoolMetrics getPoolMetrics() {
+		return pool == null ? null : pool.getMetrics();
+	}
 
-	
+	/**
+	 * Starts a new session of the configured browser (see {@link BrowserType}).
+	 */
+	public static WebDriver createDriver() {
+		// Implicit waits stay off (0): they compound with the explicit waits in WaitUtils
+		return BrowserType.fromConfig().start();
+	}
 }
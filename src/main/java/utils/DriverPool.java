@@ -0,0 +1,363 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Bounded pool of browser sessions that are reused across test methods.
+ *
+ * A session is checked out for one test method and handed back afterwards.
+ * Healthy sessions are reset (storage, cookies, extra windows, about:blank)
+ * and parked for the next test; sessions are quit only when the test failed,
+ * the reset itself failed, or the session reached its reuse limit.
+ *
+ * With virtual threads ({@link IoThreads}) warm-up starts its sessions
+ * concurrently, and resets and quits run in the background so the test
+ * thread does not wait for them; the session's slot is freed once done.
+ *
+ * With a look-ahead depth of N, up to N spare sessions are started in the
+ * background while tests run, so a test that finds no idle session (first
+ * tests, after a failure or the reuse limit) takes a browser that is already
+ * up instead of waiting for Chrome to start. Spares may exceed the pool size
+ * by N; the pool size still bounds the sessions checked out at once.
+ */
+public class DriverPool {
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int lookAhead;
+    private final int maxReuse;
+    private final long checkoutTimeoutMillis;
+
+    // one permit per live session that may be handed out
+    private final Semaphore leases;
+    private final BlockingDeque<Session> idle = new LinkedBlockingDeque<>();
+    private final PoolMetrics metrics = new PoolMetrics();
+    // null: sessions are recycled on the releasing thread
+    private final ExecutorService recycler;
+    // null: no look-ahead, sessions start when a test needs one
+    private final ExecutorService prewarmer;
+    // browsers from the start of their startup until their quit returns
+    private final AtomicInteger live = new AtomicInteger();
+    private final AtomicInteger starting = new AtomicInteger();
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse, int checkoutTimeoutSeconds) {
+        this(factory, maxSize, maxReuse, checkoutTimeoutSeconds, 0);
+    }
+
+    /**
+     * @param lookAhead number of spare sessions kept ready or starting in the background
+     */
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse, int checkoutTimeoutSeconds,
+            int lookAhead) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1 but was " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.lookAhead = Math.max(0, lookAhead);
+        this.maxReuse = Math.max(1, maxReuse);
+        this.checkoutTimeoutMillis = TimeUnit.SECONDS.toMillis(checkoutTimeoutSeconds);
+        this.leases = new Semaphore(maxSize, true);
+        this.recycler = IoThreads.isVirtual() ? IoThreads.newPerTaskExecutor("session-recycler") : null;
+        this.prewarmer = this.lookAhead > 0 ? IoThreads.newPerTaskExecutor("session-prewarm") : null;
+    }
+
+    /**
+     * Starts sessions up front so the first tests do not pay for browser startup.
+     */
+    public void warmUp(int count) {
+        int target = Math.min(count, leases.availablePermits());
+        if (recycler == null || target - idle.size() < 2) {
+            for (int i = idle.size(); i < target; i++) {
+                idle.offer(newSession());
+            }
+            prewarm();
+            return;
+        }
+        List<Future<Session>> started = new ArrayList<>();
+        for (int i = idle.size(); i < target; i++) {
+            started.add(recycler.submit(this::newSession));
+        }
+        for (Future<Session> session : started) {
+            try {
+                idle.offer(session.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                        : new RuntimeException("Failed to start a browser session", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while warming up browser sessions", e);
+            }
+        }
+        prewarm();
+    }
+
+    /**
+     * Hands out an idle session, or starts a new one while the pool is below its
+     * size limit. Blocks until a session is returned when the pool is exhausted.
+     */
+    public Session checkout() {
+        long start = System.nanoTime();
+        try {
+            if (!leases.tryAcquire(checkoutTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("No browser session available after " + checkoutTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session", e);
+        }
+        metrics.recordCheckoutWait(System.nanoTime() - start);
+
+        long leased = System.nanoTime();
+        Session session = idle.pollFirst();
+        try {
+            if (session == null) {
+                session = awaitSpare();
+            }
+            if (session == null) {
+                session = newSession();
+                metrics.recordExposedStartup(session.startupNanos);
+            } else if (session.prewarmed && session.uses == 0) {
+                // ready before the test asked for it, or ready while the test waited for it
+                long waited = Math.max(0, session.readyAt - leased);
+                metrics.recordPrewarmHit(Math.max(0, session.startupNanos - waited), waited);
+            } else {
+                metrics.recordReuse();
+            }
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+        session.uses++;
+        // the next test's session starts while this one runs
+        prewarm();
+        return session;
+    }
+
+    /**
+     * Returns a session to the pool. Sessions from failed tests are quit because
+     * the browser may be left in an unknown state.
+     */
+    public void release(Session session, boolean healthy) {
+        if (session == null) {
+            return;
+        }
+        if (recycler != null && !recycler.isShutdown()) {
+            recycler.execute(() -> recycle(session, healthy));
+        } else {
+            recycle(session, healthy);
+        }
+    }
+
+    private void recycle(Session session, boolean healthy) {
+        try {
+            if (!healthy) {
+                discard(session, "test failure");
+            } else if (session.uses >= maxReuse) {
+                discard(session, "reuse limit");
+            } else if (reset(session)) {
+                idle.offerFirst(session);
+            } else {
+                discard(session, "reset failure");
+            }
+        } finally {
+            leases.release();
+        }
+        prewarm();
+    }
+
+    /**
+     * Starts spare sessions in the background until lookAhead of them are idle
+     * or starting, within pool size + lookAhead live sessions.
+     */
+    private synchronized void prewarm() {
+        if (prewarmer == null || prewarmer.isShutdown()) {
+            return;
+        }
+        while (idle.size() + starting.get() < lookAhead && live.get() < maxSize + lookAhead) {
+            starting.incrementAndGet();
+            live.incrementAndGet();
+            prewarmer.execute(this::startSpare);
+        }
+    }
+
+    private void startSpare() {
+        try {
+            Session session = startReserved();
+            session.prewarmed = true;
+            session.readyAt = System.nanoTime();
+            metrics.recordPrewarm();
+            idle.offerLast(session);
+        } catch (RuntimeException e) {
+            // no retry here: the next checkout or release tries again
+            metrics.recordPrewarmFailure();
+            System.out.println("⚠️ Background browser start failed: " + e.getMessage());
+        } finally {
+            starting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for a spare that is still starting rather than starting another browser.
+     */
+    private Session awaitSpare() {
+        try {
+            while (starting.get() > 0) {
+                Session session = idle.pollFirst(50, TimeUnit.MILLISECONDS);
+                if (session != null) {
+                    return session;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session", e);
+        }
+        return idle.pollFirst();
+    }
+
+    /**
+     * Quits every parked session. Sessions still checked out are left to their owners.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (prewarmer != null) {
+                prewarmer.shutdown();
+            }
+        }
+        if (prewarmer != null) {
+            try {
+                if (!prewarmer.awaitTermination(60, TimeUnit.SECONDS)) {
+                    System.err.println("Browser sessions still starting after 60s");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (recycler != null) {
+            recycler.shutdown();
+            try {
+                if (!recycler.awaitTermination(60, TimeUnit.SECONDS)) {
+                    System.err.println("Browser sessions still being recycled after 60s");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Session session;
+        while ((session = idle.pollFirst()) != null) {
+            if (session.prewarmed && session.uses == 0) {
+                metrics.recordUnusedSpare();
+            }
+            quitQuietly(session);
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    private Session newSession() {
+        live.incrementAndGet();
+        return startReserved();
+    }
+
+    /**
+     * Starts a browser for a slot already counted in live, which is given back
+     * if the start fails; a session counts as live until its quit returns.
+     */
+    private Session startReserved() {
+        long start = System.nanoTime();
+        metrics.recordSessionOpened();
+        Session session;
+        try {
+            session = new Session(factory.get());
+        } catch (RuntimeException e) {
+            metrics.recordSessionClosed();
+            live.decrementAndGet();
+            throw e;
+        }
+        session.startupNanos = System.nanoTime() - start;
+        metrics.recordCreate(session.startupNanos);
+        return session;
+    }
+
+    private boolean reset(Session session) {
+        long start = System.nanoTime();
+        WebDriver driver = session.driver;
+        try {
+            // Storage and cookies can only be cleared for the origin currently loaded
+            if (driver.getCurrentUrl().startsWith("http")) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+                driver.manage().deleteAllCookies();
+            }
+            String main = driver.getWindowHandle();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(main)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(main);
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Browser session reset failed, discarding it: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.recordReset(System.nanoTime() - start);
+        }
+    }
+
+    private void discard(Session session, String reason) {
+        metrics.recordDiscard();
+        System.out.println("Quitting browser session after " + session.uses + " use(s): " + reason);
+        quitQuietly(session);
+    }
+
+    private void quitQuietly(Session session) {
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Failed to quit browser session: " + e.getMessage());
+        } finally {
+            live.decrementAndGet();
+            metrics.recordSessionClosed();
+        }
+    }
+
+    /**
+     * A pooled browser session together with the number of tests it has served.
+     */
+    public static class Session {
+        private final WebDriver driver;
+        private int uses;
+        private long startupNanos;
+        private boolean prewarmed;
+        private long readyAt;
+
+        Session(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+    }
+}
@@ -1,26 +1,267 @@
 package utils;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
+/**
+ * Owns the suite's ExtentReports instance and the ExtentTest of each worker thread.
+ *
+ * The HTML report is rewritten every report.flushInterval seconds, so a crashed
+ * run still leaves a recent report behind. Test threads log to their ExtentTest
+ * without locking, so once the interval is due the background flush waits, on its
+ * own thread, for a moment when no test is running and writes then. Tests are
+ * never held back for it, so a busy parallel run may get fewer rewrites.
+ *
+ * Every finished test is also appended as one JSON line to reports/results.jsonl
+ * right away. With report.keepPassed=false passed tests are then dropped from the
+ * in-memory report, so memory stays flat on large suites, but the HTML and its
+ * pass counts only cover failed and skipped tests. With virtual threads
+ * ({@link IoThreads}) the line is written in the background and the flush runs
+ * on a virtual thread too.
+ */
 public class ExtentManager {
 
+    public static final String JSON_ARCHIVE = "reports/extent-report.json";
+    private static final Path RESULTS_FILE = Paths.get("reports", "results.jsonl");
+
+    private static final ThreadLocal<ExtentTest> threadTest = new ThreadLocal<>();
+    private static final Object flushLock = new Object();
+    private static final Object resultsLock = new Object();
+    private static final Json json = new Json();
+
     private static ExtentReports extent;
+    private static ScheduledExecutorService flusher;
+    // tests between startTest and endTest; guarded by flushLock
+    private static int activeTests;
+    private static BufferedWriter results;
+    // null: lines are written by the test thread
+    private static volatile ExecutorService resultWriter;
 
-    public static ExtentReports getInstance() {
+    public static synchronized ExtentReports getInstance() {
         if (extent == null) {
-            ExtentSparkReporter spark = new ExtentSparkReporter("reports/extent-report.html");
-            spark.config().setTheme(Theme.STANDARD);
-            spark.config().setDocumentTitle("SauceDemo Automation Report");
-            spark.config().setReportName("Functional Test Report");
+            extent = createReport();
+            // JSON archive of the report, e.g. for merging the reports of several shards
+            if (Boolean.parseBoolean(ConfigReader.getProperty("report.json", "false"))) {
+                extent.attachReporter(new JsonFormatter(JSON_ARCHIVE));
+            }
 
-            extent = new ExtentReports();
-            extent.attachReporter(spark);
-            extent.setSystemInfo("Environment", "QA");
-            extent.setSystemInfo("Tester", "Kalaivani");
+            openResults();
+            scheduleFlush(ConfigReader.getInt("report.flushInterval", 30));
         }
 		return extent;
-        
+
+    }
+
+    /**
+     * A new report writing reports/extent-report.html, without the per-thread
+     * tests, background flush and results stream of {@link #getInstance()}.
+     */
+    public static ExtentReports createReport() {
+        ExtentSparkReporter spark = new ExtentSparkReporter("reports/extent-report.html");
+        spark.config().setTheme(Theme.STANDARD);
+        spark.config().setDocumentTitle("SauceDemo Automation Report");
+        spark.config().setReportName("Functional Test Report");
+
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(spark);
+        report.setSystemInfo("Environment", "QA");
+        report.setSystemInfo("Tester", "Kalaivani");
+        return report;
+    }
+
+    /**
+     * Creates a test in the report and binds it to the current thread.
+     */
+    public static ExtentTest startTest(String name) {
+        ExtentReports report = getInstance();
+        ExtentTest test;
+        synchronized (flushLock) {
+            test = report.createTest(name);
+            // counted only once created, so a failed start leaves nothing for endTest to undo
+            if (threadTest.get() == null) {
+                activeTests++;
+            }
+        }
+        threadTest.set(test);
+        return test;
+    }
+
+    public static ExtentTest getTest() {
+        return threadTest.get();
+    }
+
+    /**
+     * Streams the current thread's test to results.jsonl and unbinds it.
+     */
+    public static void endTest() {
+        ExtentTest test = threadTest.get();
+        threadTest.remove();
+        if (test == null) {
+            return;
+        }
+        appendResult(test.getModel());
+        boolean keepPassed = Boolean.parseBoolean(ConfigReader.getProperty("report.keepPassed", "true"));
+        synchronized (flushLock) {
+            if (!keepPassed && test.getStatus() == Status.PASS) {
+                extent.removeTest(test);
+            }
+            activeTests--;
+            if (activeTests == 0) {
+                // a due background flush can write now
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Stops the background flush, e.g. before adding suite-level entries to the report.
+     */
+    public static synchronized void stopBackgroundFlush() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher = null;
+        }
+    }
+
+    /**
+     * Writes the HTML report now and stops the background flush. Called once at the end of the suite.
+     */
+    public static synchronized void flush() {
+        if (extent == null) {
+            return;
+        }
+        stopBackgroundFlush();
+        synchronized (flushLock) {
+            extent.flush();
+        }
+        closeResults();
+    }
+
+    private static void scheduleFlush(int intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(IoThreads.factory("extent-flush"));
+        flusher.scheduleWithFixedDelay(ExtentManager::flushWhenIdle, intervalSeconds, intervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Waits until no test is running and writes the report. The wait releases
+     * flushLock, so tests keep starting; only the write itself holds it.
+     */
+    private static void flushWhenIdle() {
+        synchronized (flushLock) {
+            try {
+                while (activeTests > 0) {
+                    flushLock.wait();
+                }
+            } catch (InterruptedException e) {
+                // stopped at the end of the suite, which writes the report itself
+                Thread.currentThread().interrupt();
+                return;
+            }
+            extent.flush();
+        }
+    }
+
+    private static void openResults() {
+        try {
+            Files.createDirectories(RESULTS_FILE.getParent());
+            results = Files.newBufferedWriter(RESULTS_FILE, StandardCharsets.UTF_8);
+            resultWriter = IoThreads.isVirtual() ? IoThreads.newPerTaskExecutor("results-writer") : null;
+        } catch (IOException e) {
+            System.err.println("Failed to open " + RESULTS_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static void appendResult(Test model) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("name", model.getName());
+        line.put("status", model.getStatus().toString());
+        line.put("thread", Thread.currentThread().getName());
+        line.put("start", Instant.ofEpochMilli(model.getStartTime().getTime()).toString());
+        line.put("end", Instant.ofEpochMilli(model.getEndTime().getTime()).toString());
+        line.put("durationMs", model.getEndTime().getTime() - model.getStartTime().getTime());
+        if (model.hasException()) {
+            line.put("error", String.valueOf(model.getExceptions().get(0).getException()));
+        }
+        List<String> media = model.getMedia().stream().map(Media::getPath).collect(Collectors.toList());
+        if (!media.isEmpty()) {
+            line.put("screenshots", media);
+        }
+        StringBuilder text = new StringBuilder();
+        try (JsonOutput out = json.newOutput(text)) {
+            out.setPrettyPrint(false).write(line);
+        }
+        ExecutorService background = resultWriter;
+        if (background != null && !background.isShutdown()) {
+            background.execute(() -> writeResult(text));
+        } else {
+            writeResult(text);
+        }
+    }
+
+    private static void writeResult(CharSequence text) {
+        synchronized (resultsLock) {
+            if (results == null) {
+                return;
+            }
+            try {
+                results.write(text.toString());
+                results.newLine();
+                results.flush();
+            } catch (IOException e) {
+                System.err.println("Failed to append to " + RESULTS_FILE + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void closeResults() {
+        if (resultWriter != null) {
+            resultWriter.shutdown();
+            try {
+                resultWriter.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            resultWriter = null;
+        }
+        synchronized (resultsLock) {
+            if (results == null) {
+                return;
+            }
+            try {
+                results.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close " + RESULTS_FILE + ": " + e.getMessage());
+            }
+            results = null;
+        }
     }
 }
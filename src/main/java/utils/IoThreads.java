@@ -0,0 +1,124 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Threads for the framework's blocking background work: starting and
+ * resetting browser sessions, writing screenshots and report lines. Nearly
+ * all of that time is spent waiting on chromedriver or the disk.
+ *
+ * With threads.virtual=true (the java21 Maven profile) this work runs on
+ * virtual threads, one per task, and setup/teardown steps that used to block
+ * the test thread are handed to them. The Java 21 API is looked up
+ * reflectively, so the framework still builds and runs on Java 17, where the
+ * setting falls back to platform threads with a warning.
+ */
+public class IoThreads {
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Method PER_TASK_EXECUTOR = lookup(Executors.class, "newThreadPerTaskExecutor",
+            ThreadFactory.class);
+
+    private static final AtomicLong started = new AtomicLong();
+    private static final AtomicInteger running = new AtomicInteger();
+    private static final AtomicInteger peak = new AtomicInteger();
+    private static volatile boolean fallbackReported;
+
+    /**
+     * True when threads.virtual is set and the JVM supports virtual threads.
+     */
+    public static boolean isVirtual() {
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("threads.virtual", "false"))) {
+            return false;
+        }
+        if (OF_VIRTUAL == null || PER_TASK_EXECUTOR == null) {
+            if (!fallbackReported) {
+                fallbackReported = true;
+                System.out.println("⚠️ threads.virtual needs Java 21+, running on " + Runtime.version()
+                        + " with platform threads");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Named daemon threads of the configured kind, e.g. for a scheduled or fixed-size executor.
+     */
+    public static ThreadFactory factory(String name) {
+        ThreadFactory threads;
+        if (isVirtual()) {
+            threads = virtualFactory(name);
+        } else {
+            AtomicInteger number = new AtomicInteger();
+            threads = runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + number.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        return runnable -> threads.newThread(counted(runnable));
+    }
+
+    /**
+     * An executor for independent blocking tasks: one virtual thread per task,
+     * or a cached pool of platform threads.
+     */
+    public static ExecutorService newPerTaskExecutor(String name) {
+        if (isVirtual()) {
+            return (ExecutorService) invoke(PER_TASK_EXECUTOR, null, factory(name));
+        }
+        return Executors.newCachedThreadPool(factory(name));
+    }
+
+    public static String getStats() {
+        return String.format("%s threads started=%d, peak running=%d", isVirtual() ? "virtual" : "platform",
+                started.get(), peak.get());
+    }
+
+    private static Runnable counted(Runnable task) {
+        return () -> {
+            started.incrementAndGet();
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    // Thread.ofVirtual().name(name + "-", 1).factory()
+    private static ThreadFactory virtualFactory(String name) {
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) ofVirtual.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory", e);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to call " + method, e);
+        }
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameters) {
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
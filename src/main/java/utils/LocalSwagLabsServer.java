@@ -0,0 +1,134 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded stand-in for www.saucedemo.com that serves a local copy of the
+ * login, inventory, cart and checkout pages with the same ids, classes and
+ * data-test attributes the page objects rely on.
+ *
+ * The suite starts it when baseUrl is set to "local" (or "local:&lt;port&gt;"),
+ * e.g. with the Maven "local" profile, and points baseUrl at it. All pages are
+ * held in memory so a round trip costs well under a millisecond, which keeps
+ * runs hermetic and timing numbers repeatable.
+ */
+public class LocalSwagLabsServer {
+
+    private static final String LOCAL_PROFILE = "local";
+    private static final String[] PAGES = { "index.html", "inventory.html", "cart.html",
+            "checkout-step-one.html", "checkout-step-two.html", "checkout-complete.html", "app.js", "app.css" };
+
+    private static LocalSwagLabsServer running;
+
+    private final Map<String, byte[]> content = new HashMap<>();
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    public LocalSwagLabsServer(int port) throws IOException {
+        for (String page : PAGES) {
+            content.put("/" + page, readResource(page));
+        }
+        content.put("/", content.get("/index.html"));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "swaglabs-local-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(workers);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the stand-in when baseUrl selects the local profile and redirects
+     * baseUrl to it for the rest of the JVM. Does nothing for remote URLs.
+     */
+    public static synchronized void startIfConfigured() {
+        String baseUrl = ConfigReader.getProperty("baseUrl", "");
+        if (running != null || !(baseUrl.equals(LOCAL_PROFILE) || baseUrl.startsWith(LOCAL_PROFILE + ":"))) {
+            return;
+        }
+        int port = baseUrl.equals(LOCAL_PROFILE) ? 0 : Integer.parseInt(baseUrl.substring(LOCAL_PROFILE.length() + 1));
+        try {
+            running = new LocalSwagLabsServer(port);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start the local Swag Labs server on port " + port, e);
+        }
+        running.start();
+        System.setProperty("baseUrl", running.getUrl());
+        System.out.println("✅ Local Swag Labs server running at " + running.getUrl());
+    }
+
+    public static synchronized void stopIfRunning() {
+        if (running != null) {
+            running.stop();
+            running = null;
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/favicon.ico")) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            byte[] body = content.get(path);
+            if (body == null) {
+                body = ("Not found: " + path).getBytes();
+                exchange.sendResponseHeaders(404, body.length);
+            } else {
+                exchange.getResponseHeaders().set("Content-Type", contentType(path));
+                exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+                exchange.sendResponseHeaders(200, body.length);
+            }
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        }
+        if (path.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        return "text/html; charset=utf-8";
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream input = LocalSwagLabsServer.class.getClassLoader().getResourceAsStream("swaglabs/" + name)) {
+            if (input == null) {
+                throw new IOException("swaglabs/" + name + " not found in classpath");
+            }
+            return input.readAllBytes();
+        }
+    }
+}
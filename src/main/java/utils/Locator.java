@@ -0,0 +1,58 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * A named element locator for the page objects.
+ *
+ * The preferred lookup is the data-test attribute: Swag Labs keeps those stable
+ * when labels and layout change, and the browser matches them with a plain
+ * attribute selector instead of scanning text with XPath. The fallback is the
+ * old id, class or XPath lookup for markup without the attribute;
+ * {@link LocatorRegistry} switches to it only when the data-test lookup misses.
+ */
+public final class Locator {
+
+    private final String name;
+    private final By preferred;
+    private final By fallback;
+
+    private Locator(String name, By preferred, By fallback) {
+        this.name = name;
+        this.preferred = preferred;
+        this.fallback = fallback;
+    }
+
+    public static Locator of(String name, By by) {
+        return new Locator(name, by, null);
+    }
+
+    public static Locator dataTest(String name, String value, By fallback) {
+        return new Locator(name, By.cssSelector("[data-test='" + value + "']"), fallback);
+    }
+
+    /**
+     * Matches every element whose data-test starts with the prefix, e.g. all
+     * "add-to-cart-..." buttons of the inventory.
+     */
+    public static Locator dataTestPrefix(String name, String prefix, By fallback) {
+        return new Locator(name, By.cssSelector("[data-test^='" + prefix + "']"), fallback);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public By getPreferred() {
+        return preferred;
+    }
+
+    public By getFallback() {
+        return fallback;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
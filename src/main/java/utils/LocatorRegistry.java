@@ -0,0 +1,108 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Resolves {@link Locator}s for all page objects and times every lookup.
+ *
+ * Each locator starts on its data-test lookup. If that misses and the fallback
+ * matches, the registry remembers the fallback for the locator name, so later
+ * lookups (and waits through {@link #by(Locator)}) go straight to the strategy
+ * that works on this site. Lookup latency is kept per locator name;
+ * {@link #printLookupSummary()} lists them slowest first.
+ */
+public class LocatorRegistry {
+
+    private static final Map<String, By> resolvedBy = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> lookupLatency = new ConcurrentHashMap<>();
+
+    /**
+     * The lookup currently used for the locator: the one that matched before,
+     * otherwise the data-test lookup.
+     */
+    public static By by(Locator locator) {
+        return resolvedBy.getOrDefault(locator.getName(), locator.getPreferred());
+    }
+
+    public static WebElement find(WebDriver driver, Locator locator) {
+        long start = System.nanoTime();
+        try {
+            By by = by(locator);
+            try {
+                WebElement element = driver.findElement(by);
+                resolvedBy.putIfAbsent(locator.getName(), by);
+                return element;
+            } catch (NoSuchElementException e) {
+                if (!canFallBack(locator)) {
+                    throw e;
+                }
+                WebElement element = driver.findElement(locator.getFallback());
+                useFallback(locator);
+                return element;
+            }
+        } finally {
+            record(locator, start);
+        }
+    }
+
+    public static List<WebElement> findAll(WebDriver driver, Locator locator) {
+        long start = System.nanoTime();
+        try {
+            By by = by(locator);
+            List<WebElement> elements = driver.findElements(by);
+            if (!elements.isEmpty()) {
+                resolvedBy.putIfAbsent(locator.getName(), by);
+            } else if (canFallBack(locator)) {
+                elements = driver.findElements(locator.getFallback());
+                if (!elements.isEmpty()) {
+                    useFallback(locator);
+                }
+            }
+            return elements;
+        } finally {
+            record(locator, start);
+        }
+    }
+
+    /**
+     * Lookup latency per locator name, slowest total first.
+     */
+    public static Map<String, LatencyHistogram> getLookupLatency() {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(lookupLatency.entrySet());
+        entries.sort(Comparator.comparingDouble(
+                (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed());
+        Map<String, LatencyHistogram> sorted = new LinkedHashMap<>();
+        entries.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    public static void printLookupSummary() {
+        getLookupLatency().forEach((name, histogram) -> System.out.println("Locator " + name + " ["
+                + (resolvedBy.containsKey(name) ? resolvedBy.get(name) : "unresolved") + "]: " + histogram));
+    }
+
+    // the fallback is only tried while the data-test lookup has never matched
+    private static boolean canFallBack(Locator locator) {
+        return locator.getFallback() != null && !resolvedBy.containsKey(locator.getName());
+    }
+
+    private static void useFallback(Locator locator) {
+        if (resolvedBy.putIfAbsent(locator.getName(), locator.getFallback()) == null) {
+            System.out.println("⚠️ No data-test match for " + locator + ", using " + locator.getFallback());
+        }
+    }
+
+    private static void record(Locator locator, long startNanos) {
+        lookupLatency.computeIfAbsent(locator.getName(), key -> new LatencyHistogram()).recordSince(startNanos);
+    }
+}
@@ -0,0 +1,77 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Page-load budget of one page, declared by its page object and checked
+ * against every navigation that {@link NetworkMonitor} recorded in a test.
+ *
+ * The limits live in config.properties, unset means unlimited:
+ * budget.&lt;name&gt;.requests, budget.&lt;name&gt;.kilobytes, budget.&lt;name&gt;.loadMs
+ *
+ * Budgets only apply to full document loads. On the public site inventory,
+ * cart and checkout are reached by client-side routing, which loads no new
+ * document, so their budgets only fire when the page is opened directly by URL.
+ * Violations are reported as warnings unless budget.enforce=true (set by -Plocal).
+ */
+public class NetworkBudget {
+
+    private static final Map<String, NetworkBudget> byPath = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private NetworkBudget(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Declares the budget for the given URL paths, e.g. ("cart", "/cart.html").
+     */
+    public static NetworkBudget declare(String name, String... paths) {
+        NetworkBudget budget = new NetworkBudget(name);
+        Arrays.stream(paths).forEach(path -> byPath.put(path, budget));
+        return budget;
+    }
+
+    /**
+     * Budget violations of the given navigations; pages without a declared budget are not checked.
+     */
+    public static List<String> check(List<NetworkMonitor.Navigation> navigations) {
+        List<String> violations = new ArrayList<>();
+        for (NetworkMonitor.Navigation navigation : navigations) {
+            NetworkBudget budget = byPath.get(navigation.getPath());
+            if (budget != null) {
+                budget.check(navigation, violations);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * True when a budget violation fails the test instead of only warning about it.
+     */
+    public static boolean isEnforced() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("budget.enforce", "false"));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void check(NetworkMonitor.Navigation navigation, List<String> violations) {
+        exceeds(navigation, "requests", navigation.getRequests(), violations);
+        exceeds(navigation, "kilobytes", navigation.getBytes() / 1024.0, violations);
+        exceeds(navigation, "loadMs", navigation.getLoadMillis(), violations);
+    }
+
+    private void exceeds(NetworkMonitor.Navigation navigation, String metric, double actual, List<String> violations) {
+        String limit = ConfigReader.getProperty("budget." + name + "." + metric, "");
+        if (!limit.isEmpty() && actual > Double.parseDouble(limit)) {
+            violations.add(String.format("%s (%s): %s %.0f > budget %s", name, navigation.getPath(), metric, actual, limit));
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Records the network side of every page load through the Chrome DevTools
+ * Protocol: request count, transferred bytes, DOMContentLoaded and load time
+ * per navigation (login, inventory, cart, checkout steps).
+ *
+ * Each pooled session is attached once; {@link #startTest(WebDriver)} and
+ * {@link #endTest()} cut the recording per test. Only the raw protocol
+ * methods are used (Network.*, Page.*), so no version-specific devtools
+ * classes are needed. Browsers without DevTools (Firefox) are skipped.
+ *
+ * cdp.enabled  = true | false
+ * cdp.throttle = none | 4g | fast-3g | slow-3g | offline | a custom profile,
+ *                defined as cdp.profile.&lt;name&gt;=latencyMs,downloadKbps,uploadKbps
+ */
+public class NetworkMonitor {
+
+    private static final Map<String, String> PROFILES = new HashMap<>();
+
+    static {
+        PROFILES.put("4g", "20,4000,3000");
+        PROFILES.put("fast-3g", "150,1600,750");
+        PROFILES.put("slow-3g", "400,400,400");
+    }
+
+    private static final Map<WebDriver, NetworkMonitor> monitors = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<NetworkMonitor> current = new ThreadLocal<>();
+    private static final Map<String, PageStats> statsByPath = new ConcurrentHashMap<>();
+    private static volatile boolean unsupportedReported;
+
+    // DevTools events arrive on the connection's thread; guarded by this
+    private final List<Navigation> navigations = new ArrayList<>();
+    private final Map<String, Navigation> byRequest = new HashMap<>();
+    private Navigation page;
+    private DevTools devTools;
+    private String profile = "none";
+
+    /**
+     * Attaches to the session on first use and starts a fresh recording for
+     * the current test. Does nothing when disabled or unsupported.
+     */
+    public static void startTest(WebDriver driver) {
+        current.remove();
+        if (driver == null || !Boolean.parseBoolean(ConfigReader.getProperty("cdp.enabled", "false"))) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            reportUnsupported("the browser has no DevTools");
+            return;
+        }
+        NetworkMonitor monitor = monitors.get(driver);
+        if (monitor == null) {
+            monitor = new NetworkMonitor();
+            try {
+                monitor.connect(((HasDevTools) driver).getDevTools());
+            } catch (WebDriverException e) {
+                reportUnsupported(e.getMessage());
+                return;
+            }
+            monitors.put(driver, monitor);
+        }
+        monitor.reset();
+        // a profile set by the previous test on this session does not carry over
+        String configured = ConfigReader.getProperty("cdp.throttle", "none");
+        if (!monitor.profile.equalsIgnoreCase(configured)) {
+            try {
+                monitor.applyProfile(configured);
+            } catch (RuntimeException e) {
+                // the recording still works, the test just runs without the profile
+                System.out.println("⚠️ Network throttling " + configured + " not applied: " + e.getMessage());
+            }
+        }
+        current.set(monitor);
+    }
+
+    /**
+     * Navigations recorded so far in the current test.
+     */
+    public static List<Navigation> getNavigations() {
+        NetworkMonitor monitor = current.get();
+        return monitor == null ? Collections.emptyList() : monitor.snapshot();
+    }
+
+    /**
+     * Stops recording for the current test and returns its navigations.
+     */
+    public static List<Navigation> endTest() {
+        List<Navigation> recorded = getNavigations();
+        current.remove();
+        for (Navigation navigation : recorded) {
+            statsByPath.computeIfAbsent(navigation.getPath(), key -> new PageStats()).add(navigation);
+        }
+        return recorded;
+    }
+
+    /**
+     * Applies a throttling profile to the current test's session, e.g. for a
+     * single slow-network test. The session keeps it until the next test starts.
+     */
+    public static void throttle(String profile) {
+        NetworkMonitor monitor = current.get();
+        if (monitor != null) {
+            monitor.applyProfile(profile);
+        }
+    }
+
+    /**
+     * Checks cdp.throttle and every cdp.profile.* definition, so a typo fails
+     * the suite once at start-up instead of every test. Does nothing when disabled.
+     */
+    public static void validateConfig() {
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("cdp.enabled", "false"))) {
+            return;
+        }
+        for (String key : ConfigReader.getPropertyNames("cdp.profile.")) {
+            parseProfile(key.substring("cdp.profile.".length()));
+        }
+        parseProfile(ConfigReader.getProperty("cdp.throttle", "none"));
+    }
+
+    public static void printSummary() {
+        new TreeMap<>(statsByPath).forEach((path, stats) -> System.out.println("Network " + path + ": " + stats));
+    }
+
+    private void connect(DevTools devTools) {
+        this.devTools = devTools;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(event("Network.requestWillBeSent"), this::onRequest);
+        devTools.addListener(event("Network.loadingFinished"), this::onFinished);
+        devTools.addListener(event("Network.loadingFailed"), this::onFailed);
+        devTools.addListener(event("Page.domContentEventFired"), params -> onPageEvent(params, false));
+        devTools.addListener(event("Page.loadEventFired"), params -> onPageEvent(params, true));
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        devTools.send(new Command<>("Page.enable", Collections.emptyMap()));
+    }
+
+    private void applyProfile(String profile) {
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("offline", profile.equalsIgnoreCase("offline"));
+        conditions.put("latency", 0);
+        conditions.put("downloadThroughput", -1);
+        conditions.put("uploadThroughput", -1);
+        int[] values = parseProfile(profile);
+        if (values != null) {
+            conditions.put("latency", values[0]);
+            conditions.put("downloadThroughput", values[1] * 1024 / 8);
+            conditions.put("uploadThroughput", values[2] * 1024 / 8);
+        }
+        devTools.send(new Command<>("Network.emulateNetworkConditions", conditions));
+        this.profile = profile;
+    }
+
+    /**
+     * Latency in ms and download/upload in kbps of a profile, null for none and offline.
+     */
+    private static int[] parseProfile(String profile) {
+        if (profile.equalsIgnoreCase("none") || profile.equalsIgnoreCase("offline")) {
+            return null;
+        }
+        String definition = ConfigReader.getProperty("cdp.profile." + profile, PROFILES.get(profile.toLowerCase()));
+        if (definition == null) {
+            throw new RuntimeException("Unknown throttling profile: " + profile
+                    + " (define it as cdp.profile." + profile + "=latencyMs,downloadKbps,uploadKbps)");
+        }
+        String[] parts = definition.split(",");
+        if (parts.length != 3) {
+            throw new RuntimeException("cdp.profile." + profile + " must be latencyMs,downloadKbps,uploadKbps: " + definition);
+        }
+        int[] values = new int[3];
+        for (int i = 0; i < 3; i++) {
+            try {
+                values[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("cdp.profile." + profile + " is not a number list: " + definition);
+            }
+            if (values[i] < 0) {
+                throw new RuntimeException("cdp.profile." + profile + " has a negative value: " + definition);
+            }
+        }
+        return values;
+    }
+
+    private synchronized void reset() {
+        navigations.clear();
+        byRequest.clear();
+        page = null;
+    }
+
+    private synchronized List<Navigation> snapshot() {
+        List<Navigation> copy = new ArrayList<>();
+        for (Navigation navigation : navigations) {
+            copy.add(navigation.copy());
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onRequest(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        double timestamp = number(params.get("timestamp"));
+        // a main-frame document request starts a new page: its id equals the loader id
+        if ("Document".equals(params.get("type")) && requestId.equals(params.get("loaderId"))) {
+            String url = String.valueOf(((Map<String, Object>) params.get("request")).get("url"));
+            page = new Navigation(url, timestamp);
+            navigations.add(page);
+        }
+        if (page != null) {
+            page.requests++;
+            byRequest.put(requestId, page);
+        }
+    }
+
+    private synchronized void onFinished(Map<String, Object> params) {
+        Navigation navigation = byRequest.remove(String.valueOf(params.get("requestId")));
+        if (navigation != null) {
+            navigation.bytes += (long) number(params.get("encodedDataLength"));
+        }
+    }
+
+    private synchronized void onFailed(Map<String, Object> params) {
+        Navigation navigation = byRequest.remove(String.valueOf(params.get("requestId")));
+        if (navigation != null) {
+            navigation.failed++;
+        }
+    }
+
+    private synchronized void onPageEvent(Map<String, Object> params, boolean load) {
+        if (page == null) {
+            return;
+        }
+        double millis = (number(params.get("timestamp")) - page.startSeconds) * 1000;
+        if (load) {
+            page.loadMillis = millis;
+        } else {
+            page.domContentLoadedMillis = millis;
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static void reportUnsupported(String reason) {
+        if (!unsupportedReported) {
+            unsupportedReported = true;
+            System.out.println("⚠️ Network capture disabled: " + reason);
+        }
+    }
+
+    /**
+     * One page load and the requests made while it was the current page.
+     * Times are in ms from the document request; -1 when the event never fired.
+     */
+    public static class Navigation {
+        private final String url;
+        private final double startSeconds;
+        private int requests;
+        private int failed;
+        private long bytes;
+        private double domContentLoadedMillis = -1;
+        private double loadMillis = -1;
+
+        Navigation(String url, double startSeconds) {
+            this.url = url;
+            this.startSeconds = startSeconds;
+        }
+
+        Navigation copy() {
+            Navigation copy = new Navigation(url, startSeconds);
+            copy.requests = requests;
+            copy.failed = failed;
+            copy.bytes = bytes;
+            copy.domContentLoadedMillis = domContentLoadedMillis;
+            copy.loadMillis = loadMillis;
+            return copy;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getPath() {
+            try {
+                String path = URI.create(url).getPath();
+                return path == null || path.isEmpty() ? "/" : path;
+            } catch (IllegalArgumentException e) {
+                return url;
+            }
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getDomContentLoadedMillis() {
+            return domContentLoadedMillis;
+        }
+
+        public double getLoadMillis() {
+            return loadMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d request(s), %d failed, %.1f KB, DOMContentLoaded %.0f ms, load %.0f ms",
+                    getPath(), requests, failed, bytes / 1024.0, domContentLoadedMillis, loadMillis);
+        }
+    }
+
+    private static class PageStats {
+        private final LatencyHistogram load = new LatencyHistogram();
+        private final AtomicLong visits = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        void add(Navigation navigation) {
+            visits.incrementAndGet();
+            requests.addAndGet(navigation.getRequests());
+            bytes.addAndGet(navigation.getBytes());
+            if (navigation.getLoadMillis() >= 0) {
+                load.record((long) (navigation.getLoadMillis() * 1_000_000));
+            }
+        }
+
+        @Override
+        public String toString() {
+            long n = visits.get();
+            return String.format("visits=%d, avg %.1f request(s), avg %.1f KB, load %s", n,
+                    (double) requests.get() / n, bytes.get() / 1024.0 / n, load);
+        }
+    }
+}
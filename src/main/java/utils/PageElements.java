@@ -0,0 +1,182 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element handles of one page object, resolved through {@link LocatorRegistry}
+ * and kept for the current page state so repeated access to the same locator,
+ * including the handle a wait just resolved, does not go back to the driver.
+ *
+ * Entries are dropped when they stop describing the page:
+ * - after a click the next cache access compares the URL with the one the
+ *   handles were found on (one getCurrentUrl call) and clears the cache if it changed
+ * - a StaleElementReferenceException drops the entry and the action is retried
+ *   once with a fresh lookup
+ *
+ * A page object belongs to the thread that created it, so the cache is not
+ * synchronized; the hit and miss counters are shared by all page objects.
+ */
+public class PageElements {
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong staleDrops = new AtomicLong();
+    private static final AtomicLong navigationDrops = new AtomicLong();
+
+    private final WebDriver driver;
+    private final Map<String, WebElement> handles = new HashMap<>();
+    // URL the cached handles were found on, null when not known yet
+    private String url;
+    private boolean urlUnverified;
+
+    public PageElements(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public WebElement find(Locator locator) {
+        WebElement element = cached(locator);
+        if (element == null) {
+            element = LocatorRegistry.find(driver, locator);
+            handles.put(locator.getName(), element);
+        }
+        return element;
+    }
+
+    public List<WebElement> findAll(Locator locator) {
+        return LocatorRegistry.findAll(driver, locator);
+    }
+
+    public boolean isPresent(Locator locator) {
+        return !findAll(locator).isEmpty();
+    }
+
+    public String text(Locator locator) {
+        return withElement(locator, WebElement::getText);
+    }
+
+    public boolean isDisplayed(Locator locator) {
+        return withElement(locator, WebElement::isDisplayed);
+    }
+
+    public void type(Locator locator, CharSequence keys) {
+        withElement(locator, element -> {
+            element.sendKeys(keys);
+            return null;
+        });
+    }
+
+    public WebElement waitForVisible(Locator locator) {
+        WebElement element = cached(locator);
+        if (element != null && isUsable(locator, element, false)) {
+            return element;
+        }
+        element = WaitUtils.waitForVisibility(driver, LocatorRegistry.by(locator));
+        handles.put(locator.getName(), element);
+        return element;
+    }
+
+    public WebElement waitForClickable(Locator locator) {
+        WebElement element = cached(locator);
+        if (element != null && isUsable(locator, element, true)) {
+            return element;
+        }
+        element = WaitUtils.waitForClickability(driver, LocatorRegistry.by(locator));
+        handles.put(locator.getName(), element);
+        return element;
+    }
+
+    /**
+     * Waits until the locator matches a visible element with exactly this text,
+     * e.g. the shared page title reading "Checkout: Overview".
+     */
+    public WebElement waitForText(Locator locator, String text) {
+        return WaitUtils.until(driver, "text '" + text + "' in " + locator, d -> {
+            WebElement element = find(locator);
+            try {
+                return element.isDisplayed() && element.getText().trim().equals(text) ? element : null;
+            } catch (StaleElementReferenceException e) {
+                // the previous page's element; look it up again on the next poll
+                drop(locator);
+                return null;
+            }
+        }, WaitUtils.defaultTimeout());
+    }
+
+    public void click(Locator locator) {
+        try {
+            waitForClickable(locator).click();
+        } catch (StaleElementReferenceException e) {
+            drop(locator);
+            waitForClickable(locator).click();
+        }
+        // the click may have navigated; checked on the next cache access
+        if (handles.isEmpty()) {
+            url = null;
+        } else {
+            urlUnverified = true;
+        }
+    }
+
+    public void invalidate() {
+        handles.clear();
+        url = null;
+        urlUnverified = false;
+    }
+
+    public static String getStats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return String.format("hits=%d, misses=%d, hit rate=%.0f%%, stale drops=%d, navigation drops=%d", hitCount,
+                misses.get(), total == 0 ? 0.0 : hitCount * 100.0 / total, staleDrops.get(), navigationDrops.get());
+    }
+
+    private WebElement cached(Locator locator) {
+        if (urlUnverified) {
+            urlUnverified = false;
+            String current = driver.getCurrentUrl();
+            if (!current.equals(url)) {
+                if (!handles.isEmpty()) {
+                    navigationDrops.incrementAndGet();
+                }
+                handles.clear();
+            }
+            url = current;
+        }
+        WebElement element = handles.get(locator.getName());
+        (element == null ? misses : hits).incrementAndGet();
+        return element;
+    }
+
+    private <T> T withElement(Locator locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(find(locator));
+        } catch (StaleElementReferenceException e) {
+            drop(locator);
+            return action.apply(find(locator));
+        }
+    }
+
+    // quick check of a cached handle; a miss falls back to the full wait
+    private boolean isUsable(Locator locator, WebElement element, boolean clickable) {
+        try {
+            return element.isDisplayed() && (!clickable || element.isEnabled());
+        } catch (StaleElementReferenceException e) {
+            drop(locator);
+            return false;
+        }
+    }
+
+    private void drop(Locator locator) {
+        if (handles.remove(locator.getName()) != null) {
+            staleDrops.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters collected by {@link DriverPool}: how long tests waited for a
+ * session, how often sessions were reused and how much time resets cost.
+ * With look-ahead, also how much browser startup ran in the background while
+ * tests executed (hidden) versus on a test's critical path (exposed).
+ * The peak of browsers alive at once counts sessions from the moment their
+ * startup begins until their quit returns.
+ */
+public class PoolMetrics {
+
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong checkoutWaitNanos = new AtomicLong();
+    private final AtomicLong maxCheckoutWaitNanos = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong createNanos = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+    private final AtomicLong prewarmed = new AtomicLong();
+    private final AtomicLong prewarmFailures = new AtomicLong();
+    private final AtomicLong prewarmHits = new AtomicLong();
+    private final AtomicLong unusedSpares = new AtomicLong();
+    private final AtomicLong hiddenStartupNanos = new AtomicLong();
+    private final AtomicLong exposedStartupNanos = new AtomicLong();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final AtomicInteger peakLiveSessions = new AtomicInteger();
+
+    void recordCheckoutWait(long nanos) {
+        checkouts.incrementAndGet();
+        checkoutWaitNanos.addAndGet(nanos);
+        maxCheckoutWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordReuse() {
+        reuses.incrementAndGet();
+    }
+
+    void recordCreate(long nanos) {
+        created.incrementAndGet();
+        createNanos.addAndGet(nanos);
+    }
+
+    /**
+     * A browser is starting; it counts as live until {@link #recordSessionClosed()}.
+     */
+    void recordSessionOpened() {
+        peakLiveSessions.accumulateAndGet(liveSessions.incrementAndGet(), Math::max);
+    }
+
+    void recordSessionClosed() {
+        liveSessions.decrementAndGet();
+    }
+
+    void recordDiscard() {
+        discarded.incrementAndGet();
+    }
+
+    void recordReset(long nanos) {
+        resets.incrementAndGet();
+        resetNanos.addAndGet(nanos);
+    }
+
+    void recordPrewarm() {
+        prewarmed.incrementAndGet();
+    }
+
+    void recordPrewarmFailure() {
+        prewarmFailures.incrementAndGet();
+    }
+
+    /**
+     * A test took a spare: the part of its startup the test did not wait for is hidden.
+     */
+    void recordPrewarmHit(long hiddenNanos, long waitedNanos) {
+        prewarmHits.incrementAndGet();
+        hiddenStartupNanos.addAndGet(hiddenNanos);
+        exposedStartupNanos.addAndGet(waitedNanos);
+    }
+
+    /**
+     * A test found no ready session and waited for a browser to start.
+     */
+    void recordExposedStartup(long nanos) {
+        exposedStartupNanos.addAndGet(nanos);
+    }
+
+    void recordUnusedSpare() {
+        unusedSpares.incrementAndGet();
+    }
+
+    public long getCheckouts() {
+        return checkouts.get();
+    }
+
+    public long getReuses() {
+        return reuses.get();
+    }
+
+    public long getCreated() {
+        return created.get();
+    }
+
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    /**
+     * The most browsers alive at the same time during the run, including ones still starting.
+     */
+    public int getPeakLiveSessions() {
+        return peakLiveSessions.get();
+    }
+
+    public long getTotalCheckoutWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(checkoutWaitNanos.get());
+    }
+
+    public long getMaxCheckoutWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxCheckoutWaitNanos.get());
+    }
+
+    public long getTotalResetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(resetNanos.get());
+    }
+
+    public long getTotalCreateMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(createNanos.get());
+    }
+
+    public long getPrewarmed() {
+        return prewarmed.get();
+    }
+
+    public long getPrewarmHits() {
+        return prewarmHits.get();
+    }
+
+    public long getHiddenStartupMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(hiddenStartupNanos.get());
+    }
+
+    public long getExposedStartupMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(exposedStartupNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        long resetCount = resets.get();
+        return String.format(
+                "checkouts=%d, reused=%d, created=%d (%d ms startup), discarded=%d, peak live=%d, "
+                        + "checkout wait total=%d ms max=%d ms, resets=%d (%d ms total, %.1f ms avg)",
+                getCheckouts(), getReuses(), getCreated(), getTotalCreateMillis(), getDiscarded(), getPeakLiveSessions(),
+                getTotalCheckoutWaitMillis(), getMaxCheckoutWaitMillis(), resetCount, getTotalResetMillis(),
+                resetCount == 0 ? 0.0 : resetNanos.get() / 1e6 / resetCount)
+                + (prewarmed.get() + prewarmFailures.get() == 0 ? "" : String.format(
+                        ", look-ahead: %d spare(s) started (%d failed), %d used by tests, %d unused, "
+                                + "startup hidden=%d ms, exposed=%d ms",
+                        getPrewarmed(), prewarmFailures.get(), getPrewarmHits(), unusedSpares.get(),
+                        getHiddenStartupMillis(), getExposedStartupMillis()));
+    }
+}
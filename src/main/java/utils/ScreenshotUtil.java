@@ -1,47 +1,256 @@
 package utils;
 
-// Import necessary libraries for handling files, dates, and Selenium WebDriver
-import java.io.File;
+// Import necessary libraries for handling files, images, dates, and Selenium WebDriver
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.text.SimpleDateFormat;
-import java.util.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
 import org.openqa.selenium.*;
 
+/**
+ * Screenshots for failed steps and tests.
+ *
+ * The test thread only grabs the PNG bytes from the browser; scaling, encoding
+ * and the disk write happen on a small background writer with a bounded queue.
+ * When the queue is full the test thread writes the file itself, so a burst of
+ * failures slows down rather than piling up in memory. With virtual threads
+ * ({@link IoThreads}) every screenshot gets its own writer thread instead,
+ * with screenshot.queue bounding how many are pending. Frames identical to one
+ * already saved in this run are not written again; the earlier file is reused.
+ *
+ * config.properties: screenshot.format = png | jpg, screenshot.scale (e.g. 0.5),
+ * screenshot.jpegQuality, screenshot.queue, screenshot.writers.
+ */
 public class ScreenshotUtil {
 
+    private static final String SCREENSHOT_DIR = "reports/screenshots/";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final Map<String, String> savedFrames = new ConcurrentHashMap<>();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final AtomicLong captured = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+
+    private static volatile Writer writer;
+
     /**
-     * Captures a screenshot of the current browser window and saves it to a specified directory.
+     * Captures a screenshot of the current browser window and queues it to be saved.
      * @param driver WebDriver instance controlling the browser
      * @param testName Name of the test case (used in naming the screenshot file)
-     * @return The path of the saved screenshot file
+     * @return The path the screenshot is saved to, for reference in reports or logging
      */
     public static String captureScreenShots(WebDriver driver, String testName) {
-        // Take a screenshot using WebDriver's TakesScreenshot interface
-        File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
+        // Only the browser round trip happens on the test thread
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        captured.incrementAndGet();
 
-        // Generate a timestamp to ensure unique file names
-        String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        String format = format();
+        String screenshotPath = SCREENSHOT_DIR + testName + "_" + LocalDateTime.now().format(TIMESTAMP)
+                + "_" + sequence.incrementAndGet() + "." + format;
 
-        // Define the path where the screenshot should be saved
-        String screenshotPath = "reports/screenshots/" + testName + "_" + timeStamp + ".png";  // Ensure proper directory structure
+        // An identical frame (e.g. the same error page after several failed steps) is saved once
+        String existing = savedFrames.putIfAbsent(digest(png), screenshotPath);
+        if (existing != null) {
+            duplicates.incrementAndGet();
+            return existing;
+        }
 
-        // Create destination file object
-        File destFile = new File(screenshotPath);
+        submit(() -> write(png, Paths.get(screenshotPath), format));
+        return screenshotPath;
+    }
 
+    /**
+     * Blocks until every queued screenshot is on disk, e.g. before the report is flushed.
+     */
+    public static synchronized void awaitPendingWrites(long timeoutSeconds) {
+        if (writer == null) {
+            return;
+        }
+        writer.executor.shutdown();
         try {
-            // Ensure that the parent directories exist; create if necessary
-            Files.createDirectories(destFile.getParentFile().toPath());
+            if (!writer.executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                System.err.println("Screenshots still pending after " + timeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    public static String getStats() {
+        return String.format("captured=%d, duplicates skipped=%d, written=%d KB",
+                captured.get(), duplicates.get(), bytesWritten.get() / 1024);
+    }
+
+    private static void submit(Runnable write) {
+        while (true) {
+            try {
+                writer().execute(write);
+                return;
+            } catch (RejectedExecutionException e) {
+                // awaitPendingWrites shut that writer down in the meantime; the next one takes the screenshot
+            }
+        }
+    }
 
-            // Copy the screenshot file from the temporary location to the target location
-            Files.copy(srcFile.toPath(), destFile.toPath());
+    private static synchronized Writer writer() {
+        if (writer != null && !writer.executor.isShutdown()) {
+            return writer;
+        }
+        if (IoThreads.isVirtual()) {
+            writer = new Writer(IoThreads.newPerTaskExecutor("screenshot-writer"),
+                    new Semaphore(ConfigReader.getInt("screenshot.queue", 16)));
+        } else {
+            int threads = ConfigReader.getInt("screenshot.writers", 1);
+            writer = new Writer(new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(ConfigReader.getInt("screenshot.queue", 16)), runnable -> {
+                        Thread thread = new Thread(runnable, "screenshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (task, executor) -> {
+                        // a full queue: the test thread writes the file itself
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Screenshot writer is shut down");
+                        }
+                        task.run();
+                    }), null);
+        }
+        return writer;
+    }
+
+    /**
+     * A writer executor with, on virtual threads, the permits bounding its pending
+     * writes; the platform writer bounds its queue instead.
+     */
+    private static final class Writer {
+        private final ExecutorService executor;
+        private final Semaphore pending;
 
+        Writer(ExecutorService executor, Semaphore pending) {
+            this.executor = executor;
+            this.pending = pending;
+        }
+
+        /**
+         * @throws RejectedExecutionException when the executor was shut down
+         */
+        void execute(Runnable write) {
+            if (pending == null) {
+                executor.execute(write);
+                return;
+            }
+            if (!pending.tryAcquire()) {
+                write.run();
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        write.run();
+                    } finally {
+                        pending.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pending.release();
+                throw e;
+            }
+        }
+    }
+
+    private static void write(byte[] png, Path destination, String format) {
+        try {
+            // Ensure that the parent directories exist; create if necessary
+            Files.createDirectories(destination.getParent());
+            byte[] encoded = encode(png, format, scale());
+            Files.write(destination, encoded);
+            bytesWritten.addAndGet(encoded.length);
         } catch (IOException e) {
             // Print an error message if file saving fails
             System.err.println("Failed to save screenshot: " + e.getMessage());
         }
+    }
 
-        // Return the screenshot file path for reference in reports or logging
-        return screenshotPath;
+    private static byte[] encode(byte[] png, String format, double scale) throws IOException {
+        if (format.equals("png") && scale >= 1.0) {
+            return png;
+        }
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable PNG");
+        }
+        int width = Math.max(1, (int) Math.round(source.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * Math.min(scale, 1.0)));
+        // JPEG has no alpha channel, so always redraw into an RGB image
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format.equals("png")) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter jpeg = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam params = jpeg.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality((float) jpegQuality());
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            jpeg.setOutput(stream);
+            jpeg.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            jpeg.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String format() {
+        String format = ConfigReader.getProperty("screenshot.format", "png").toLowerCase();
+        return format.equals("jpg") || format.equals("jpeg") ? "jpg" : "png";
+    }
+
+    private static double scale() {
+        return Double.parseDouble(ConfigReader.getProperty("screenshot.scale", "1.0"));
+    }
+
+    private static double jpegQuality() {
+        return Double.parseDouble(ConfigReader.getProperty("screenshot.jpegQuality", "0.8"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,293 @@
+package utils;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Per-step timing for the suite.
+ *
+ * {@link #instrument(WebDriver)} decorates a driver so that every WebDriver
+ * command (findElement, click, executeScript, ...) is timed. Each command is
+ * also attributed to the page-object method it was issued from, found on the
+ * call stack, so actions like CartPage.openCart get their own latency
+ * distribution. An action spans from its first to its last command, which
+ * includes the waits in between. Recorded with every step are the thread
+ * and the test that ran it.
+ */
+public class StepTimings implements WebDriverListener {
+
+    private static final String PAGE_PACKAGE = "pages.";
+    private static final int SLOWEST_KEPT = 25;
+
+    private static final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> actions = new ConcurrentHashMap<>();
+    private static final PriorityQueue<Step> slowest = new PriorityQueue<>(Comparator.comparingDouble(Step::getMillis));
+
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Long>> commandStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ActiveAction> currentAction = new ThreadLocal<>();
+
+    private static final StackWalker walker = StackWalker.getInstance();
+
+    public static WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(new StepTimings()).decorate(driver);
+    }
+
+    /**
+     * Names the test whose steps the current thread records from now on.
+     */
+    public static void startTest(String testName) {
+        currentTest.set(testName);
+    }
+
+    /**
+     * Name of the test running on the current thread, null outside a test.
+     */
+    public static String getCurrentTest() {
+        return currentTest.get();
+    }
+
+    /**
+     * Closes the page-object action still open on this thread and detaches the test.
+     */
+    public static void endTest() {
+        finishAction(currentAction.get());
+        currentAction.remove();
+        currentTest.remove();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        long now = System.nanoTime();
+        commandStarts.get().push(now);
+        trackAction(now);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finishCommand(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finishCommand(target, method);
+    }
+
+    private static void finishCommand(Object target, Method method) {
+        Deque<Long> starts = commandStarts.get();
+        if (method.getDeclaringClass() == Object.class || starts.isEmpty()) {
+            return;
+        }
+        long end = System.nanoTime();
+        long nanos = end - starts.pop();
+        String name = commandName(target, method);
+        commands.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+        offerSlowest(new Step(name, nanos));
+
+        ActiveAction action = currentAction.get();
+        if (action != null) {
+            action.lastEnd = end;
+        }
+    }
+
+    /**
+     * Starts a new page-object action when this command comes from a different
+     * page-object call than the previous command on this thread.
+     */
+    private static void trackAction(long now) {
+        String[] caller = walker.walk(frames -> {
+            String[] found = null;
+            boolean inPage = false;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                if (frame.getClassName().startsWith(PAGE_PACKAGE)) {
+                    String page = frame.getClassName().substring(PAGE_PACKAGE.length());
+                    found = new String[] { page + "." + frame.getMethodName(), null };
+                    inPage = true;
+                } else if (inPage) {
+                    // the first frame below the outermost page-object call identifies the call site
+                    found[1] = frame.getClassName() + ":" + frame.getLineNumber();
+                    break;
+                }
+            }
+            return found;
+        });
+
+        ActiveAction active = currentAction.get();
+        if (caller == null) {
+            finishAction(active);
+            currentAction.remove();
+        } else if (active == null || !active.name.equals(caller[0]) || !active.callSite.equals(caller[1])) {
+            finishAction(active);
+            currentAction.set(new ActiveAction(caller[0], String.valueOf(caller[1]), now));
+        }
+    }
+
+    private static void finishAction(ActiveAction action) {
+        if (action == null || action.lastEnd == 0) {
+            return;
+        }
+        long nanos = action.lastEnd - action.start;
+        actions.computeIfAbsent(action.name, key -> new LatencyHistogram()).record(nanos);
+        offerSlowest(new Step(action.name, nanos));
+    }
+
+    private static String commandName(Object target, Method method) {
+        String type;
+        if (target instanceof WebElement) {
+            type = "WebElement";
+        } else if (target instanceof WebDriver) {
+            type = "WebDriver";
+        } else {
+            type = method.getDeclaringClass().getSimpleName();
+        }
+        return type + "." + method.getName();
+    }
+
+    private static void offerSlowest(Step step) {
+        synchronized (slowest) {
+            if (slowest.size() < SLOWEST_KEPT) {
+                slowest.add(step);
+            } else if (slowest.peek().getMillis() < step.getMillis()) {
+                slowest.poll();
+                slowest.add(step);
+            }
+        }
+    }
+
+    public static Map<String, LatencyHistogram> getActionLatency() {
+        return actions;
+    }
+
+    public static Map<String, LatencyHistogram> getCommandLatency() {
+        return commands;
+    }
+
+    /**
+     * The slowest individual steps (actions and commands) seen so far, slowest first.
+     */
+    public static List<Step> getSlowestSteps() {
+        synchronized (slowest) {
+            List<Step> steps = new ArrayList<>(slowest);
+            steps.sort(Comparator.comparingDouble(Step::getMillis).reversed());
+            return steps;
+        }
+    }
+
+    /**
+     * Writes p50/p95/p99 per page-object action and per WebDriver command as JSON.
+     */
+    public static void writeReport(Path file) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("actions", summarize(actions));
+        report.put("commands", summarize(commands));
+        report.put("slowestSteps", getSlowestSteps().stream().map(Step::toMap).collect(Collectors.toList()));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Failed to write step timings: " + e.getMessage());
+        }
+    }
+
+    private static List<Map<String, Object>> summarize(Map<String, LatencyHistogram> histograms) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getPercentileMillis(95)).reversed())
+                .forEach(e -> {
+                    LatencyHistogram h = e.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("name", e.getKey());
+                    row.put("count", h.getCount());
+                    row.put("p50Ms", round(h.getPercentileMillis(50)));
+                    row.put("p95Ms", round(h.getPercentileMillis(95)));
+                    row.put("p99Ms", round(h.getPercentileMillis(99)));
+                    row.put("maxMs", round(h.getMaxMillis()));
+                    row.put("totalMs", round(h.getTotalMillis()));
+                    rows.add(row);
+                });
+        return rows;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+
+    private static final class ActiveAction {
+        private final String name;
+        private final String callSite;
+        private final long start;
+        private long lastEnd;
+
+        ActiveAction(String name, String callSite, long start) {
+            this.name = name;
+            this.callSite = callSite;
+            this.start = start;
+        }
+    }
+
+    /**
+     * One timed action or command together with where it ran.
+     */
+    public static final class Step {
+        private final String name;
+        private final String test;
+        private final String thread;
+        private final double millis;
+
+        Step(String name, long nanos) {
+            this.name = name;
+            this.test = String.valueOf(currentTest.get());
+            this.thread = Thread.currentThread().getName();
+            this.millis = nanos / 1e6;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("test", test);
+            map.put("thread", thread);
+            map.put("ms", round(millis));
+            return map;
+        }
+    }
+}
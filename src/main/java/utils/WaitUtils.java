@@ -4,28 +4,252 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/**
+ * Explicit waits for the page objects.
+ *
+ * Conditions are polled with adaptive backoff: the first check happens
+ * immediately and the pause between checks grows from 10 ms to 250 ms, so
+ * fast conditions return almost at once without hammering chromedriver on
+ * slow ones. With wait.mode=observer, locator waits run inside the browser
+ * on a MutationObserver and cost a single round trip. The in-browser part is
+ * capped below the session's script timeout; what is left of a longer wait is
+ * polled, so the total never exceeds the requested time.
+ *
+ * Waits without a timeout argument use "timeout" from config.properties.
+ * Every wait is recorded in a per-condition latency histogram.
+ */
 public class WaitUtils {
 
+    private static final long FIRST_POLL_MILLIS = 10;
+    private static final long MAX_POLL_MILLIS = 250;
+    private static final double BACKOFF = 1.5;
+    // W3C default script timeout, and how long before it the in-browser wait gives up
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 1000;
+
+    private static final Map<String, LatencyHistogram> latencyByCondition = new ConcurrentHashMap<>();
+    // read once per session: the timeouts call is a round trip of its own
+    private static final Map<WebDriver, Duration> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Resolves when an element matching the locator is present (and visible if
+    // requested), or with null once the timeout passes.
+    private static final String OBSERVER_SCRIPT =
+            "var using = arguments[0], value = arguments[1], visible = arguments[2], timeout = arguments[3];"
+            + "var done = arguments[arguments.length - 1];"
+            + "function find() {"
+            + "  var e = using === 'xpath'"
+            + "    ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "    : document.querySelector(value);"
+            + "  return e && (!visible || e.getClientRects().length > 0) ? e : null;"
+            + "}"
+            + "var found = find();"
+            + "if (found) { done(found); return; }"
+            + "var observer = new MutationObserver(function () {"
+            + "  var e = find();"
+            + "  if (e) { observer.disconnect(); clearTimeout(timer); done(e); }"
+            + "});"
+            + "observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "var timer = setTimeout(function () { observer.disconnect(); done(null); }, timeout);";
+
+    public static int defaultTimeout() {
+        return ConfigReader.getInt("timeout", 10);
+    }
+
+    public static WebElement waitForVisibility(WebDriver driver, By locator) {
+        return waitForVisibility(driver, locator, defaultTimeout());
+    }
+
     public static WebElement waitForVisibility(WebDriver driver, By locator, int seconds) {
-        return new WebDriverWait(driver, Duration.ofSeconds(seconds)).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waitForLocator(driver, locator, true, seconds);
+    }
+
+    public static WebElement waitForVisibility(WebDriver driver, WebElement element) {
+        return waitForVisibility(driver, element, defaultTimeout());
     }
-    
+
     public static WebElement waitForVisibility(WebDriver driver, WebElement element, int seconds) {
-        return new WebDriverWait(driver, Duration.ofSeconds(seconds)).until(ExpectedConditions.visibilityOf(element));
+        return until(driver, "visibilityOf(element)", ExpectedConditions.visibilityOf(element), seconds);
+    }
+
+    public static WebElement waitForPresence(WebDriver driver, By locator) {
+        return waitForLocator(driver, locator, false, defaultTimeout());
+    }
+
+    public static WebElement waitForClickability(WebDriver driver, By locator) {
+        return waitForClickability(driver, locator, defaultTimeout());
     }
-    
-    
+
     public static WebElement waitForClickability(WebDriver driver, By locator, int seconds) {
-    	return new WebDriverWait(driver, Duration.ofSeconds(seconds)).until(ExpectedConditions.elementToBeClickable(locator));
+    	return until(driver, "elementToBeClickable(" + locator + ")", ExpectedConditions.elementToBeClickable(locator), seconds);
+    }
+
+    public static WebElement waitForClickability(WebDriver driver, WebElement element) {
+        return waitForClickability(driver, element, defaultTimeout());
     }
+
     public static WebElement waitForClickability(WebDriver driver, WebElement element, int seconds) {
-    	return new WebDriverWait(driver, Duration.ofSeconds(seconds)).until(ExpectedConditions.elementToBeClickable(element));
+    	return until(driver, "elementToBeClickable(element)", ExpectedConditions.elementToBeClickable(element), seconds);
+    }
+
+    public static void waitForStaleness(WebDriver driver, WebElement element) {
+        waitForStaleness(driver, element, defaultTimeout());
     }
-    
+
     public static void waitForStaleness(WebDriver driver, WebElement element, int seconds) {
-        new WebDriverWait(driver, Duration.ofSeconds(seconds)).until(ExpectedConditions.stalenessOf(element));
+        until(driver, "stalenessOf(element)", ExpectedConditions.stalenessOf(element), seconds);
+    }
+
+    /**
+     * Waits up to the given time for the locator to match and reports the
+     * outcome instead of throwing.
+     */
+    public static boolean isPresent(WebDriver driver, By locator, int seconds) {
+        try {
+            waitForLocator(driver, locator, false, seconds);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Polls the condition with adaptive backoff until it returns a non-null,
+     * non-false value. NotFound and stale element errors count as "not yet".
+     */
+    public static <T> T until(WebDriver driver, String name, Function<? super WebDriver, T> condition, int seconds) {
+        return until(driver, name, condition, seconds, System.nanoTime() + Duration.ofSeconds(seconds).toNanos());
+    }
+
+    /**
+     * Polls until the given deadline; seconds is the whole wait, for the message.
+     */
+    private static <T> T until(WebDriver driver, String name, Function<? super WebDriver, T> condition, int seconds,
+            long deadline) {
+        long start = System.nanoTime();
+        long pause = FIRST_POLL_MILLIS;
+        RuntimeException lastError = null;
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + name
+                            + " (tried for " + seconds + " second(s) with adaptive polling)", lastError);
+                }
+                sleep(Math.min(pause, Duration.ofNanos(remaining).toMillis() + 1));
+                pause = Math.min(MAX_POLL_MILLIS, (long) (pause * BACKOFF));
+            }
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Snapshot of the latency histograms keyed by condition.
+     */
+    public static Map<String, LatencyHistogram> getLatencyByCondition() {
+        return Collections.unmodifiableMap(new TreeMap<>(latencyByCondition));
+    }
+
+    public static void printLatencySummary() {
+        getLatencyByCondition().forEach((name, histogram) -> System.out.println("Wait " + name + ": " + histogram));
+    }
+
+    private static WebElement waitForLocator(WebDriver driver, By locator, boolean visible, int seconds) {
+        String name = (visible ? "visibilityOfElementLocated(" : "presenceOfElementLocated(") + locator + ")";
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        if (useObserver() && locator instanceof By.Remotable && driver instanceof JavascriptExecutor) {
+            WebElement element = waitInBrowser(driver, name, (By.Remotable) locator, visible, seconds);
+            if (element != null) {
+                return element;
+            }
+        }
+        ExpectedCondition<WebElement> condition = visible ? ExpectedConditions.visibilityOfElementLocated(locator)
+                : ExpectedConditions.presenceOfElementLocated(locator);
+        // only what the in-browser wait left of the timeout; at least one final check
+        return until(driver, name, condition, seconds, deadline);
+    }
+
+    /**
+     * Runs the wait inside the page, for at most a second less than the script
+     * timeout. Returns null when the browser could not finish it (e.g. the page
+     * navigated away) or the wait is longer than the script timeout allows, so
+     * the caller polls for the rest of the time.
+     */
+    private static WebElement waitInBrowser(WebDriver driver, String name, By.Remotable locator, boolean visible, int seconds) {
+        By.Remotable.Parameters parameters = locator.getRemoteParameters();
+        String using = parameters.using();
+        if (!using.equals("css selector") && !using.equals("xpath")) {
+            return null;
+        }
+        long timeoutMillis = Duration.ofSeconds(seconds).toMillis();
+        long browserMillis = Math.min(timeoutMillis, scriptTimeout(driver).toMillis() - SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        if (browserMillis <= 0) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Object found;
+        try {
+            found = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVER_SCRIPT, using,
+                    String.valueOf(parameters.value()), visible, browserMillis);
+        } catch (WebDriverException e) {
+            // includes ScriptTimeoutException; the caller polls for what is left of the timeout
+            return null;
+        }
+        record(name + "[observer]", start);
+        if (found instanceof WebElement) {
+            return (WebElement) found;
+        }
+        if (browserMillis < timeoutMillis) {
+            return null;
+        }
+        throw new TimeoutException("Expected condition failed: waiting for " + name
+                + " (observed in browser for " + seconds + " second(s))");
+    }
+
+    private static Duration scriptTimeout(WebDriver driver) {
+        Duration timeout = scriptTimeouts.get(driver);
+        if (timeout == null) {
+            try {
+                timeout = driver.manage().timeouts().getScriptTimeout();
+            } catch (RuntimeException e) {
+                // drivers that cannot report it get the W3C default
+                timeout = null;
+            }
+            timeout = timeout == null ? DEFAULT_SCRIPT_TIMEOUT : timeout;
+            scriptTimeouts.put(driver, timeout);
+        }
+        return timeout;
+    }
+
+    private static boolean useObserver() {
+        return ConfigReader.getProperty("wait.mode", "poll").equalsIgnoreCase("observer");
+    }
+
+    private static void record(String name, long startNanos) {
+        latencyByCondition.computeIfAbsent(name, key -> new LatencyHistogram()).recordSince(startNanos);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
     }
-    
-    
 }
@@ -0,0 +1,291 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+/**
+ * Front-end timings of every page visit: TTFB, DOMContentLoaded, LCP and CLS,
+ * read with a single executeScript call when a page object sees its page loaded.
+ *
+ * Swag Labs renders inventory, cart and checkout client-side, so only a visit
+ * that loaded a new document ("hard") has TTFB, DOMContentLoaded and LCP; a
+ * client-side visit ("soft") reports the layout shifts since the previous
+ * visit. The script keeps its observers on the window, so a repeated call for
+ * the same visit records nothing.
+ *
+ * Every sample is appended to &lt;vitals.dir&gt;/&lt;run&gt;.jsonl as it is taken.
+ * At the end of the suite the p75 of each page and metric is compared with the
+ * baseline of this environment, &lt;vitals.baseline&gt;/&lt;host&gt;_&lt;browser&gt;_&lt;mode&gt;.properties,
+ * so a headless local run and a headed remote run never share numbers. Pages
+ * and metrics missing from the baseline are added to it, vitals.updateBaseline=true
+ * replaces it with this run. Parallel shards merge into the same file under a lock.
+ */
+public class WebVitals {
+
+    public static final String[] METRICS = { "ttfbMs", "domContentLoadedMs", "lcpMs", "cls" };
+
+    private static final String SCRIPT =
+            "var v = window.__webVitals, hard = !v;"
+            + "if (hard) {"
+            + "  v = window.__webVitals = { path: null, lcp: -1, shifts: [], observers: [], types: [] };"
+            + "  var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];"
+            + "  v.add = function (entries) {"
+            + "    entries.forEach(function (e) {"
+            + "      if (e.entryType === 'largest-contentful-paint') { v.lcp = e.startTime; }"
+            + "      else if (!e.hadRecentInput) { v.shifts.push(e); }"
+            + "    });"
+            + "  };"
+            + "  ['largest-contentful-paint', 'layout-shift'].forEach(function (type) {"
+            + "    if (supported.indexOf(type) < 0) { return; }"
+            + "    var po = new PerformanceObserver(function (list) { v.add(list.getEntries()); });"
+            + "    po.observe({ type: type, buffered: true });"
+            + "    v.observers.push(po);"
+            + "    v.types.push(type);"
+            + "  });"
+            + "}"
+            + "if (v.path === location.pathname) { return null; }"
+            + "v.path = location.pathname;"
+            + "v.observers.forEach(function (po) { v.add(po.takeRecords()); });"
+            // CLS: the largest burst of shifts less than 1 s apart and within 5 s
+            + "var cls = 0, burst = 0, first = 0, last = 0;"
+            + "v.shifts.forEach(function (e) {"
+            + "  if (burst && (e.startTime - last > 1000 || e.startTime - first > 5000)) { burst = 0; }"
+            + "  if (!burst) { first = e.startTime; }"
+            + "  burst += e.value; last = e.startTime; cls = Math.max(cls, burst);"
+            + "});"
+            + "v.shifts = [];"
+            + "var nav = hard && performance.getEntriesByType ? performance.getEntriesByType('navigation')[0] : null;"
+            + "return {"
+            + "  navigation: hard ? 'hard' : 'soft',"
+            + "  path: location.pathname,"
+            + "  ttfbMs: nav ? nav.responseStart : -1,"
+            + "  domContentLoadedMs: nav ? nav.domContentLoadedEventEnd : -1,"
+            + "  lcpMs: hard && v.types.indexOf('largest-contentful-paint') >= 0 ? v.lcp : -1,"
+            + "  cls: v.types.indexOf('layout-shift') >= 0 ? cls : -1"
+            + "};";
+
+    private static final Json json = new Json();
+    private static final String RUN = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    private static final Map<String, List<Double>> samples = new TreeMap<>();
+    private static BufferedWriter series;
+
+    /**
+     * Records the current visit of the given page, e.g. collect(driver, "cart").
+     * Does nothing with vitals.enabled=false or when the visit was already recorded.
+     */
+    @SuppressWarnings("unchecked")
+    public static void collect(WebDriver driver, String page) {
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("vitals.enabled", "false"))) {
+            return;
+        }
+        Map<String, Object> visit;
+        try {
+            visit = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT);
+        } catch (WebDriverException e) {
+            System.out.println("⚠️ Web vitals not collected on " + page + ": " + e.getMessage());
+            return;
+        }
+        if (visit == null) {
+            return;
+        }
+
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("run", RUN);
+        sample.put("time", System.currentTimeMillis());
+        sample.put("test", StepTimings.getCurrentTest());
+        sample.put("page", page);
+        sample.putAll(visit);
+        record(page, visit);
+        StringBuilder text = new StringBuilder();
+        try (JsonOutput out = json.newOutput(text)) {
+            out.setPrettyPrint(false).write(sample);
+        }
+        append(text.toString());
+    }
+
+    /**
+     * Compares the p75 of this run with the baseline, updates the baseline file
+     * and closes the time series. Empty when no page visit was recorded.
+     */
+    public static synchronized List<Comparison> compareWithBaseline() {
+        closeSeries();
+        if (samples.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Path file = getBaselineFile();
+        boolean update = Boolean.parseBoolean(ConfigReader.getProperty("vitals.updateBaseline", "false"));
+        List<Comparison> comparisons = new ArrayList<>();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            // shards finish at the same time: read, merge and write the baseline under one file lock
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+                    FileLock lock = channel.lock()) {
+                Properties baseline = new Properties();
+                baseline.load(Channels.newInputStream(channel));
+                samples.forEach((key, values) -> {
+                    double current = p75(values);
+                    String stored = baseline.getProperty(key);
+                    comparisons.add(new Comparison(key, values.size(), stored == null ? -1 : Double.parseDouble(stored),
+                            current));
+                    if (stored == null || update) {
+                        baseline.setProperty(key, String.format(Locale.ROOT, "%.3f", current));
+                    }
+                });
+                channel.truncate(0);
+                channel.position(0);
+                baseline.store(Channels.newOutputStream(channel), "p75 web vitals per page (ms, CLS unitless) for "
+                        + getEnvironment() + "; vitals.updateBaseline=true rewrites it");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to update web vitals baseline " + file + ": " + e.getMessage());
+        }
+        return comparisons;
+    }
+
+    /**
+     * The baseline of the configured site, browser and browser mode.
+     */
+    public static Path getBaselineFile() {
+        return Paths.get(ConfigReader.getProperty("vitals.baseline", "web-vitals-baseline"), getEnvironment() + ".properties");
+    }
+
+    // e.g. www.saucedemo.com_chrome_headed, local_chrome_headless
+    private static String getEnvironment() {
+        String baseUrl = ConfigReader.getProperty("baseUrl", "local");
+        String host = baseUrl;
+        try {
+            URI uri = URI.create(baseUrl);
+            if (uri.getHost() != null) {
+                host = uri.getPort() < 0 ? uri.getHost() : uri.getHost() + "-" + uri.getPort();
+            }
+        } catch (IllegalArgumentException e) {
+            // not a URL, e.g. "local": used as is
+        }
+        String environment = host + "_" + ConfigReader.getProperty("browser", "chrome") + "_"
+                + ConfigReader.getProperty("browser.mode", "headed");
+        return environment.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "-");
+    }
+
+    private static synchronized void record(String page, Map<String, Object> visit) {
+        for (String metric : METRICS) {
+            Object value = visit.get(metric);
+            // -1: not measurable for this visit (client-side navigation or unsupported browser)
+            if (value instanceof Number && ((Number) value).doubleValue() >= 0) {
+                samples.computeIfAbsent(page + "." + metric, key -> new ArrayList<>()).add(((Number) value).doubleValue());
+            }
+        }
+    }
+
+    private static synchronized void append(String line) {
+        try {
+            if (series == null) {
+                Path file = Paths.get(ConfigReader.getProperty("vitals.dir", "web-vitals"), RUN + ".jsonl");
+                Files.createDirectories(file.getParent());
+                series = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            series.write(line);
+            series.newLine();
+            series.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to write web vitals sample: " + e.getMessage());
+        }
+    }
+
+    private static void closeSeries() {
+        if (series != null) {
+            try {
+                series.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close web vitals time series: " + e.getMessage());
+            }
+            series = null;
+        }
+    }
+
+    private static double p75(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.75) - 1);
+    }
+
+    /**
+     * p75 of one page and metric in this run next to its baseline. A regression
+     * is more than vitals.tolerance (relative, default 0.2) above the baseline
+     * and more than vitals.minDeltaMs (default 100) or vitals.minDeltaCls
+     * (default 0.05) in absolute terms, so tiny values do not flap.
+     */
+    public static class Comparison {
+        private final String key;
+        private final int samples;
+        private final double baseline;
+        private final double current;
+
+        Comparison(String key, int samples, double baseline, double current) {
+            this.key = key;
+            this.samples = samples;
+            this.baseline = baseline;
+            this.current = current;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        /**
+         * -1 when this run established the baseline.
+         */
+        public double getBaseline() {
+            return baseline;
+        }
+
+        public double getCurrent() {
+            return current;
+        }
+
+        public boolean isRegression() {
+            if (baseline < 0) {
+                return false;
+            }
+            double tolerance = Double.parseDouble(ConfigReader.getProperty("vitals.tolerance", "0.2"));
+            double minDelta = key.endsWith(".cls")
+                    ? Double.parseDouble(ConfigReader.getProperty("vitals.minDeltaCls", "0.05"))
+                    : Double.parseDouble(ConfigReader.getProperty("vitals.minDeltaMs", "100"));
+            return current > baseline * (1 + tolerance) && current - baseline > minDelta;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s p75 %.3f (baseline %.3f, %d sample(s))", key, current, baseline, samples);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+// Local stand-in for the Swag Labs demo shop. Mirrors the markup, ids, classes,
+// data-test attributes, cookie and localStorage keys of www.saucedemo.com.
+(function () {
+    'use strict';
+
+    var SESSION_COOKIE = 'session-username';
+    var CART_KEY = 'cart-contents';
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user',
+        'performance_glitch_user', 'error_user', 'visual_user'];
+
+    var PRODUCTS = [
+        { id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+          desc: 'Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.' },
+        { id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+          desc: 'A red light that helps when riding your bike at night. 1 AAA battery included.' },
+        { id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+          desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt.' },
+        { id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+          desc: 'A midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.' },
+        { id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+          desc: 'Rib snap infant onesie for the junior automation engineer in development.' },
+        { id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+          desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests.' }
+    ];
+
+    // ---- session and cart state -------------------------------------------------
+
+    function currentUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function startSession(user) {
+        var expires = new Date(Date.now() + 10 * 60 * 1000).toUTCString();
+        document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(user) + '; expires=' + expires + '; path=/';
+    }
+
+    function cartIds() {
+        try {
+            var ids = JSON.parse(window.localStorage.getItem(CART_KEY));
+            return Array.isArray(ids) ? ids : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length === 0) {
+            window.localStorage.removeItem(CART_KEY);
+        } else {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        }
+    }
+
+    function toggleCart(id) {
+        var ids = cartIds();
+        var index = ids.indexOf(id);
+        if (index >= 0) {
+            ids.splice(index, 1);
+        } else {
+            ids.push(id);
+        }
+        saveCart(ids);
+        return index < 0;
+    }
+
+    function product(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function cartProducts() {
+        return cartIds().map(product).filter(function (p) { return p !== null; });
+    }
+
+    // ---- rendering helpers ------------------------------------------------------
+
+    function el(tag, attrs, text) {
+        var node = document.createElement(tag);
+        Object.keys(attrs || {}).forEach(function (key) {
+            node.setAttribute(key, attrs[key]);
+        });
+        if (text !== undefined) {
+            node.textContent = text;
+        }
+        return node;
+    }
+
+    function slug(name) {
+        return name.toLowerCase().replace(/ /g, '-');
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function showError(container, message) {
+        container.classList.add('error');
+        container.innerHTML = '';
+        var h3 = el('h3', { 'data-test': 'error' }, message);
+        var close = el('button', { 'class': 'error-button', 'data-test': 'error-button' }, '×');
+        close.addEventListener('click', function (event) {
+            event.preventDefault();
+            container.classList.remove('error');
+            container.innerHTML = '';
+        });
+        h3.insertBefore(close, h3.firstChild);
+        container.appendChild(h3);
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    function renderHeader() {
+        var container = document.getElementById('header_container');
+        var header = el('div', { 'class': 'primary_header', 'data-test': 'primary-header' });
+        header.appendChild(el('div', { 'class': 'app_logo' }, 'Swag Labs'));
+        var cart = el('div', { id: 'shopping_cart_container', 'class': 'shopping_cart_container' });
+        cart.appendChild(el('a', { 'class': 'shopping_cart_link', 'data-test': 'shopping-cart-link', href: '/cart.html' }));
+        header.appendChild(cart);
+        container.appendChild(header);
+        updateBadge();
+    }
+
+    // The badge only exists while the cart holds items, like on the real site
+    function updateBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        var badge = link.querySelector('.shopping_cart_badge');
+        var count = cartIds().length;
+        if (count === 0) {
+            if (badge) {
+                link.removeChild(badge);
+            }
+            return;
+        }
+        if (!badge) {
+            badge = el('span', { 'class': 'shopping_cart_badge', 'data-test': 'shopping-cart-badge' });
+            link.appendChild(badge);
+        }
+        badge.textContent = String(count);
+    }
+
+    // Buttons are updated in place so element handles held by tests stay attached
+    function setCartButton(button, p, inCart) {
+        var action = inCart ? 'remove' : 'add-to-cart';
+        button.id = action + '-' + slug(p.name);
+        button.setAttribute('name', button.id);
+        button.setAttribute('data-test', button.id);
+        button.className = 'btn ' + (inCart ? 'btn_secondary' : 'btn_primary') + ' btn_small btn_inventory';
+        button.textContent = inCart ? 'Remove' : 'Add to cart';
+    }
+
+    function itemDescription(p) {
+        var label = el('div', { 'class': 'inventory_item_description', 'data-test': 'inventory-item-description' });
+        var link = el('a', { href: '#', id: 'item_' + p.id + '_title_link', 'data-test': 'item-' + p.id + '-title-link' });
+        link.appendChild(el('div', { 'class': 'inventory_item_name', 'data-test': 'inventory-item-name' }, p.name));
+        label.appendChild(link);
+        label.appendChild(el('div', { 'class': 'inventory_item_desc', 'data-test': 'inventory-item-desc' }, p.desc));
+        return label;
+    }
+
+    // ---- pages ------------------------------------------------------------------
+
+    function loginPage() {
+        var form = document.getElementById('login_form');
+        var error = document.querySelector('.error-message-container');
+        var redirectedFrom = new URLSearchParams(window.location.search).get('from');
+        if (redirectedFrom) {
+            showError(error, "Epic sadface: You can only access '" + redirectedFrom + "' when you are logged in.");
+        }
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            var user = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            if (!user) {
+                showError(error, 'Epic sadface: Username is required');
+            } else if (!password) {
+                showError(error, 'Epic sadface: Password is required');
+            } else if (USERS.indexOf(user) < 0 || password !== PASSWORD) {
+                showError(error, 'Epic sadface: Username and password do not match any user in this service');
+            } else if (user === 'locked_out_user') {
+                showError(error, 'Epic sadface: Sorry, this user has been locked out.');
+            } else {
+                startSession(user);
+                go('/inventory.html');
+            }
+        });
+    }
+
+    function inventoryPage() {
+        var list = document.querySelector('.inventory_list');
+        var sort = document.querySelector('.product_sort_container');
+
+        function render() {
+            var ordering = PRODUCTS.slice();
+            switch (sort.value) {
+            case 'za':
+                ordering.sort(function (a, b) { return b.name.localeCompare(a.name); });
+                break;
+            case 'lohi':
+                ordering.sort(function (a, b) { return a.price - b.price; });
+                break;
+            case 'hilo':
+                ordering.sort(function (a, b) { return b.price - a.price; });
+                break;
+            default:
+                ordering.sort(function (a, b) { return a.name.localeCompare(b.name); });
+            }
+            list.innerHTML = '';
+            var inCart = cartIds();
+            ordering.forEach(function (p) {
+                var item = el('div', { 'class': 'inventory_item', 'data-test': 'inventory-item' });
+                var description = itemDescription(p);
+                var pricebar = el('div', { 'class': 'pricebar' });
+                pricebar.appendChild(el('div', { 'class': 'inventory_item_price', 'data-test': 'inventory-item-price' }, money(p.price)));
+                var button = el('button');
+                setCartButton(button, p, inCart.indexOf(p.id) >= 0);
+                button.addEventListener('click', function () {
+                    setCartButton(button, p, toggleCart(p.id));
+                    updateBadge();
+                });
+                pricebar.appendChild(button);
+                description.appendChild(pricebar);
+                item.appendChild(description);
+                list.appendChild(item);
+            });
+        }
+
+        sort.addEventListener('change', render);
+        render();
+    }
+
+    function cartItem(p, removable) {
+        var item = el('div', { 'class': 'cart_item', 'data-test': 'inventory-item' });
+        item.appendChild(el('div', { 'class': 'cart_quantity', 'data-test': 'item-quantity' }, '1'));
+        var label = el('div', { 'class': 'cart_item_label' });
+        var description = itemDescription(p);
+        while (description.firstChild) {
+            label.appendChild(description.firstChild);
+        }
+        var pricebar = el('div', { 'class': 'item_pricebar' });
+        pricebar.appendChild(el('div', { 'class': 'inventory_item_price', 'data-test': 'inventory-item-price' }, money(p.price)));
+        if (removable) {
+            var button = el('button');
+            setCartButton(button, p, true);
+            button.addEventListener('click', function () {
+                toggleCart(p.id);
+                item.parentNode.removeChild(item);
+                updateBadge();
+            });
+            pricebar.appendChild(button);
+        }
+        label.appendChild(pricebar);
+        item.appendChild(label);
+        return item;
+    }
+
+    function cartPage() {
+        var list = document.querySelector('.cart_list');
+        cartProducts().forEach(function (p) {
+            list.appendChild(cartItem(p, true));
+        });
+        document.getElementById('continue-shopping').addEventListener('click', function () { go('/inventory.html'); });
+        document.getElementById('checkout').addEventListener('click', function () { go('/checkout-step-one.html'); });
+    }
+
+    function checkoutStepOnePage() {
+        var form = document.getElementById('checkout_info_form');
+        var error = document.querySelector('.error-message-container');
+        document.getElementById('cancel').addEventListener('click', function () { go('/cart.html'); });
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            if (!document.getElementById('first-name').value) {
+                showError(error, 'Error: First Name is required');
+            } else if (!document.getElementById('last-name').value) {
+                showError(error, 'Error: Last Name is required');
+            } else if (!document.getElementById('postal-code').value) {
+                showError(error, 'Error: Postal Code is required');
+            } else {
+                go('/checkout-step-two.html');
+            }
+        });
+    }
+
+    function checkoutStepTwoPage() {
+        var list = document.querySelector('.cart_list');
+        var subtotal = 0;
+        cartProducts().forEach(function (p) {
+            subtotal += p.price;
+            list.appendChild(cartItem(p, false));
+        });
+        var tax = Math.round(subtotal * 0.08 * 100) / 100;
+        document.querySelector('.summary_subtotal_label').textContent = 'Item total: ' + money(subtotal);
+        document.querySelector('.summary_tax_label').textContent = 'Tax: ' + money(tax);
+        document.querySelector('.summary_total_label').textContent = 'Total: ' + money(subtotal + tax);
+        document.getElementById('cancel').addEventListener('click', function () { go('/inventory.html'); });
+        document.getElementById('finish').addEventListener('click', function () {
+            saveCart([]);
+            go('/checkout-complete.html');
+        });
+    }
+
+    function checkoutCompletePage() {
+        document.getElementById('back-to-products').addEventListener('click', function () { go('/inventory.html'); });
+    }
+
+    var pages = {
+        'login': loginPage,
+        'inventory': inventoryPage,
+        'cart': cartPage,
+        'checkout-step-one': checkoutStepOnePage,
+        'checkout-step-two': checkoutStepTwoPage,
+        'checkout-complete': checkoutCompletePage
+    };
+
+    var page = document.body.getAttribute('data-page');
+    if (page !== 'login') {
+        if (!currentUser()) {
+            go('/?from=' + encodeURIComponent(window.location.pathname));
+            return;
+        }
+        renderHeader();
+    }
+    pages[page]();
+})();
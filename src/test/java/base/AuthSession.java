@@ -0,0 +1,74 @@
+package base;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import pages.InventoryPage;
+import pages.LoginPage;
+import utils.ConfigReader;
+
+/**
+ * Logs a user in by injecting the session cookie captured from an earlier UI
+ * login instead of filling in the login form again.
+ *
+ * The first login of a user on a worker thread goes through the form; the
+ * resulting cookies are cached for that thread and replayed for every later
+ * test, which then opens /inventory.html directly. If the cached session has
+ * expired or is rejected the helper falls back to the form.
+ */
+public class AuthSession {
+
+	// Any cheap URL on the site's origin; cookies can only be added for the loaded origin
+	private static final String COOKIE_BOOTSTRAP_PATH = "/favicon.ico";
+
+	// One cache per worker thread: user name -> cookies set by the login
+	private static final ThreadLocal<Map<String, Set<Cookie>>> sessions = ThreadLocal.withInitial(HashMap::new);
+
+	public static void loginAs(WebDriver driver, String username, String password) {
+		String baseUrl = baseUrl();
+		Set<Cookie> cookies = sessions.get().get(username);
+
+		if (cookies != null && !isExpired(cookies)) {
+			driver.get(baseUrl + COOKIE_BOOTSTRAP_PATH);
+			for (Cookie cookie : cookies) {
+				driver.manage().addCookie(cookie);
+			}
+			driver.get(baseUrl + "/inventory.html");
+			if (new InventoryPage(driver).isInventoryVisible()) {
+				return;
+			}
+			System.out.println("⚠️ Cached session for " + username + " was rejected, logging in through the form");
+		}
+		sessions.get().remove(username);
+
+		driver.get(baseUrl);
+		new LoginPage(driver).login(username, password);
+		if (new InventoryPage(driver).isInventoryVisible()) {
+			sessions.get().put(username, new HashSet<>(driver.manage().getCookies()));
+		}
+	}
+
+	/**
+	 * Forgets the cached sessions of the current worker thread.
+	 */
+	public static void clear() {
+		sessions.remove();
+	}
+
+	private static boolean isExpired(Set<Cookie> cookies) {
+		// leave a little headroom so the cookie does not expire mid-navigation
+		Date soon = new Date(System.currentTimeMillis() + 5_000);
+		return cookies.stream().anyMatch(c -> c.getExpiry() != null && c.getExpiry().before(soon));
+	}
+
+	private static String baseUrl() {
+		String baseUrl = ConfigReader.getProperty("baseUrl");
+		return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+	}
+}
@@ -3,35 +3,46 @@ package base;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import utils.ConfigReader;
+import utils.DriverFactory;
 import utils.ExtentManager;
+import utils.IoThreads;
+import utils.LocalSwagLabsServer;
+import utils.LocatorRegistry;
+import utils.NetworkBudget;
+import utils.NetworkMonitor;
+import utils.PageElements;
 import utils.ScreenshotUtil;
+import utils.StepTimings;
+import utils.WaitUtils;
+import utils.WebVitals;
 
 import java.lang.reflect.Method;
-import java.time.Duration;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
 
-public class BaseTest {
+public class BaseTest implements IHookable {
 	
 //	protected WebDriver driver;
 	
-	public static ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
     private static ExtentReports extent;
-    protected ExtentTest test;
     
     public WebDriver getDriver() {
-    	return threadDriver.get();
+    	return DriverFactory.getDriver();
+    }
+
+    // Test class instances are shared by worker threads when running parallel="methods"
+    public ExtentTest getTest() {
+    	return ExtentManager.getTest();
     }
 
 	@BeforeSuite
@@ -39,61 +50,112 @@ public class BaseTest {
 		extent = ExtentManager.getInstance();
 	}
 
+	@BeforeSuite
+	public void startLocalSite() {
+		// Only starts when baseUrl=local, e.g. "mvn test -Plocal"
+		LocalSwagLabsServer.startIfConfigured();
+	}
+
+	@BeforeSuite
+	public void setupDriverPool() {
+		DriverFactory.initPool();
+	}
+
 	@BeforeMethod
 	public void setupDriver(Method method) {
-		WebDriverManager.chromedriver().setup();
-		threadDriver.set(initializeChromeDriver()); 
-		getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
-		getDriver().manage().window().maximize();
-
-		// Ensure ExtentReports is initialized before creating a test
-		if (extent == null) {
-			extent = ExtentManager.getInstance();
+		DriverFactory.startSession();
+		try {
+			// Page loads of this test are recorded over DevTools when cdp.enabled=true
+			NetworkMonitor.startTest(getDriver());
+
+			ExtentManager.startTest(method.getName());
+			StepTimings.startTest(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+		} catch (RuntimeException e) {
+			// the test is skipped, so hand the session back instead of leaving the thread bound
+			endTest(false);
+			throw e;
 		}
+	}
 
-		test = extent.createTest(method.getName());
+	/**
+	 * Runs the test, then reports the page loads that broke the budget declared
+	 * by the page object (budget.* in config.properties). Only fails the test
+	 * with budget.enforce=true, otherwise the violations are warnings.
+	 */
+	@Override
+	public void run(IHookCallBack callBack, ITestResult testResult) {
+		callBack.runTestMethod(testResult);
+		if (testResult.getThrowable() == null) {
+			List<String> violations = NetworkBudget.check(NetworkMonitor.getNavigations());
+			if (violations.isEmpty()) {
+				return;
+			}
+			String message = "Network budget exceeded: " + String.join("; ", violations);
+			if (NetworkBudget.isEnforced()) {
+				throw new AssertionError(message);
+			}
+			System.out.println("⚠️ " + testResult.getName() + ": " + message);
+			getTest().warning(message);
+		}
 	}
 
-	@AfterMethod
+	@AfterMethod(alwaysRun = true)
 	public void tearDownTest(ITestResult result) {
-		if (result.getStatus() == ITestResult.FAILURE) {
-			String screenshotPath = ScreenshotUtil.captureScreenShots(getDriver(), result.getName());
-			test.fail(result.getThrowable());
-			test.addScreenCaptureFromPath(screenshotPath);
-		} else if (result.getStatus() == ITestResult.SUCCESS) {
-			test.pass("Test passed");
-		} else {
-			test.skip("Test skipped");
+		boolean healthy = false;
+		try {
+			ExtentTest test = getTest();
+			if (test == null) {
+				// setupDriver failed before the test was created
+				return;
+			}
+			if (result.getStatus() == ITestResult.FAILURE) {
+				String screenshotPath = ScreenshotUtil.captureScreenShots(getDriver(), result.getName());
+				test.fail(result.getThrowable());
+				test.addScreenCaptureFromPath(screenshotPath);
+			} else if (result.getStatus() == ITestResult.SUCCESS) {
+				test.pass("Test passed");
+			} else {
+				test.skip("Test skipped");
+			}
+			addNetworkCapture(test, NetworkMonitor.getNavigations());
+			healthy = result.getStatus() != ITestResult.FAILURE;
+		} finally {
+			endTest(healthy);
 		}
-		 if (getDriver() != null) {
-			 getDriver().quit();
-		 }
-	
 	}
-	public WebDriver initializeChromeDriver() {
-	    ChromeOptions options = new ChromeOptions();
-
-	    options.addArguments("--disable-infobars");
-	    options.addArguments("--disable-notifications");
-	    options.addArguments("--no-sandbox");                   // Required in Linux CI
-	    options.addArguments("--disable-dev-shm-usage");        // Required in Linux CI
-	    //options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage");
-	    // Use a unique user data directory to avoid conflicts in parallel or repeated runs
-	    String userDataDir = "/tmp/chrome-user-data-" + java.util.UUID.randomUUID();
-	    options.addArguments("--user-data-dir=" + userDataDir);
-
-	    Map<String, Object> prefs = new HashMap<>();
-	    prefs.put("credentials_enable_service", false);
-	    prefs.put("profile.password_manager_enabled", false);
-	    options.setExperimentalOption("prefs", prefs);
-	    options.setExperimentalOption("excludeSwitches", Arrays.asList("enable-automation"));
-
-	    return new ChromeDriver(options);
+
+	/**
+	 * Streams the result to reports/results.jsonl and returns the session. Failed
+	 * sessions are quit, healthy ones are reset and reused by the next test.
+	 */
+	private void endTest(boolean healthy) {
+		try {
+			NetworkMonitor.endTest();
+			ExtentManager.endTest();
+			StepTimings.endTest();
+		} finally {
+			DriverFactory.endSession(healthy);
+		}
 	}
 	
+	/**
+	 * Opens the inventory page as the given user, reusing this worker's session
+	 * cookie when the user already logged in once. LoginTest uses the form directly.
+	 */
+	public void loginAs(String username, String password) {
+		AuthSession.loginAs(getDriver(), username, password);
+	}
+
+	/**
+	 * Fills the cart with the given products through localStorage in one call.
+	 * Use after loginAs, for tests that are not about adding to the cart.
+	 */
+	public void seedCart(String... productNames) {
+		CartSeeder.seed(getDriver(), productNames);
+	}
+
 	 public WebElement waitForElementVisible(By locator, int timeInSec) {
-	        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeInSec));
-	        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+	        return WaitUtils.waitForVisibility(getDriver(), locator, timeInSec);
 	    }
 	
 //	 @AfterClass
@@ -106,6 +168,86 @@ public class BaseTest {
 
 	@AfterSuite
 	public void generateReport() {
-		extent.flush();
+		// Screenshots referenced by the report must be on disk before it is written
+		ScreenshotUtil.awaitPendingWrites(30);
+		// the suite-level entries below are added without a running test
+		ExtentManager.stopBackgroundFlush();
+		addSlowestSteps();
+		List<String> regressions = addWebVitals();
+		StepTimings.writeReport(Paths.get("reports", "step-latency.json"));
+		ExtentManager.flush();
+		if (!regressions.isEmpty() && Boolean.parseBoolean(ConfigReader.getProperty("vitals.failOnRegression", "false"))) {
+			throw new AssertionError("Web vitals regressed against the baseline: " + String.join("; ", regressions));
+		}
+	}
+
+	/**
+	 * Adds this run's p75 web vitals next to the baseline and returns the regressions.
+	 */
+	private List<String> addWebVitals() {
+		List<WebVitals.Comparison> comparisons = WebVitals.compareWithBaseline();
+		if (comparisons.isEmpty()) {
+			return List.of();
+		}
+		String[][] rows = new String[comparisons.size() + 1][];
+		rows[0] = new String[] { "Page.metric", "Samples", "Baseline p75", "p75", "" };
+		for (int i = 0; i < comparisons.size(); i++) {
+			WebVitals.Comparison comparison = comparisons.get(i);
+			rows[i + 1] = new String[] { comparison.getKey(), String.valueOf(comparison.getSamples()),
+					comparison.getBaseline() < 0 ? "new" : String.format("%.3f", comparison.getBaseline()),
+					String.format("%.3f", comparison.getCurrent()), comparison.isRegression() ? "REGRESSION" : "ok" };
+		}
+		List<String> regressions = comparisons.stream().filter(WebVitals.Comparison::isRegression)
+				.map(WebVitals.Comparison::toString).collect(Collectors.toList());
+		ExtentTest test = extent.createTest("Web vitals");
+		test.info(MarkupHelper.createTable(rows));
+		if (!regressions.isEmpty()) {
+			test.fail(String.join("<br>", regressions));
+		}
+		return regressions;
+	}
+
+	private void addNetworkCapture(ExtentTest test, List<NetworkMonitor.Navigation> navigations) {
+		if (navigations.isEmpty()) {
+			return;
+		}
+		String[][] rows = new String[navigations.size() + 1][];
+		rows[0] = new String[] { "Page", "Requests", "Failed", "KB", "DOMContentLoaded ms", "Load ms" };
+		for (int i = 0; i < navigations.size(); i++) {
+			NetworkMonitor.Navigation navigation = navigations.get(i);
+			rows[i + 1] = new String[] { navigation.getPath(), String.valueOf(navigation.getRequests()),
+					String.valueOf(navigation.getFailed()), String.format("%.1f", navigation.getBytes() / 1024.0),
+					String.format("%.0f", navigation.getDomContentLoadedMillis()),
+					String.format("%.0f", navigation.getLoadMillis()) };
+		}
+		test.info(MarkupHelper.createTable(rows));
+	}
+
+	private void addSlowestSteps() {
+		List<StepTimings.Step> steps = StepTimings.getSlowestSteps();
+		if (steps.isEmpty()) {
+			return;
+		}
+		String[][] rows = new String[steps.size() + 1][];
+		rows[0] = new String[] { "Step", "Test", "Thread", "ms" };
+		for (int i = 0; i < steps.size(); i++) {
+			StepTimings.Step step = steps.get(i);
+			rows[i + 1] = new String[] { step.getName(), step.getTest(), step.getThread(),
+					String.format("%.1f", step.getMillis()) };
+		}
+		extent.createTest("Slowest steps").info(MarkupHelper.createTable(rows));
+	}
+
+	@AfterSuite(alwaysRun = true)
+	public void shutdownDriverPool() {
+		WaitUtils.printLatencySummary();
+		LocatorRegistry.printLookupSummary();
+		System.out.println("Element cache: " + PageElements.getStats());
+		NetworkMonitor.printSummary();
+		ScreenshotUtil.awaitPendingWrites(30);
+		System.out.println("Screenshots: " + ScreenshotUtil.getStats());
+		DriverFactory.shutdownPool();
+		System.out.println("I/O threads: " + IoThreads.getStats());
+		LocalSwagLabsServer.stopIfRunning();
 	}
 }
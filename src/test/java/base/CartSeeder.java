@@ -0,0 +1,59 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Puts products in the cart by writing Swag Labs' client-side cart straight
+ * into localStorage instead of clicking "Add to cart" on the inventory page.
+ *
+ * Meant for tests whose subject comes after the cart (cart page, checkout);
+ * tests that check adding to the cart itself keep using the UI. The driver
+ * must already be on the site, e.g. right after loginAs.
+ */
+public class CartSeeder {
+
+	// Swag Labs stores the cart as a JSON array of product ids under this key
+	private static final String CART_KEY = "cart-contents";
+
+	private static final Map<String, Integer> PRODUCT_IDS = new LinkedHashMap<>();
+
+	static {
+		PRODUCT_IDS.put("Sauce Labs Backpack", 4);
+		PRODUCT_IDS.put("Sauce Labs Bike Light", 0);
+		PRODUCT_IDS.put("Sauce Labs Bolt T-Shirt", 1);
+		PRODUCT_IDS.put("Sauce Labs Fleece Jacket", 5);
+		PRODUCT_IDS.put("Sauce Labs Onesie", 2);
+		PRODUCT_IDS.put("Test.allTheThings() T-Shirt (Red)", 3);
+	}
+
+	/**
+	 * Replaces the cart with the given products and reloads the page once so
+	 * the cart badge and buttons reflect it.
+	 */
+	public static void seed(WebDriver driver, String... productNames) {
+		List<Integer> ids = new ArrayList<>();
+		for (String name : productNames) {
+			Integer id = PRODUCT_IDS.get(name);
+			if (id == null) {
+				throw new RuntimeException("❌ Product not found: " + name);
+			}
+			if (!ids.contains(id)) {
+				ids.add(id);
+			}
+		}
+		((JavascriptExecutor) driver).executeScript(
+				"localStorage.setItem(arguments[0], JSON.stringify(arguments[1]));", CART_KEY, ids);
+		driver.navigate().refresh();
+	}
+
+	public static void clear(WebDriver driver) {
+		((JavascriptExecutor) driver).executeScript("localStorage.removeItem(arguments[0]);", CART_KEY);
+		driver.navigate().refresh();
+	}
+}
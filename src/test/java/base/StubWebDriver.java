@@ -0,0 +1,229 @@
+package base;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * In-memory WebDriver used to exercise the framework plumbing (session pool,
+ * thread binding, waits, screenshots) without starting a browser. It tracks
+ * how often it was navigated and whether it has been quit. Element lookups
+ * only find elements registered with {@link #withElement(By, String)};
+ * screenshots are a fixed 1280x720 PNG.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+	private static final byte[] SCREENSHOT = renderScreenshot();
+
+	private static final AtomicInteger created = new AtomicInteger();
+
+	private final String sessionId = UUID.randomUUID().toString();
+	private final String windowHandle = "window-" + created.incrementAndGet();
+	private volatile String currentUrl = "data:,";
+	private volatile boolean quit;
+	private final AtomicInteger navigations = new AtomicInteger();
+	private final Map<String, WebElement> elements = new ConcurrentHashMap<>();
+
+	public static int getCreatedCount() {
+		return created.get();
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public boolean isQuit() {
+		return quit;
+	}
+
+	public int getNavigationCount() {
+		return navigations.get();
+	}
+
+	/**
+	 * Registers a visible, enabled element with the given text for the locator.
+	 */
+	public StubWebDriver withElement(By by, String text) {
+		elements.put(by.toString(), stubElement(text));
+		return this;
+	}
+
+	@Override
+	public void get(String url) {
+		checkOpen();
+		navigations.incrementAndGet();
+		currentUrl = url;
+	}
+
+	@Override
+	public String getCurrentUrl() {
+		checkOpen();
+		return currentUrl;
+	}
+
+	@Override
+	public String getTitle() {
+		return "";
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		checkOpen();
+		WebElement element = elements.get(by.toString());
+		return element == null ? Collections.emptyList() : Collections.singletonList(element);
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		checkOpen();
+		WebElement element = elements.get(by.toString());
+		if (element == null) {
+			throw new NoSuchElementException("StubWebDriver has no element for " + by);
+		}
+		return element;
+	}
+
+	@Override
+	public String getPageSource() {
+		return "";
+	}
+
+	@Override
+	public void close() {
+		quit();
+	}
+
+	@Override
+	public void quit() {
+		quit = true;
+	}
+
+	@Override
+	public Set<String> getWindowHandles() {
+		return Collections.singleton(windowHandle);
+	}
+
+	@Override
+	public String getWindowHandle() {
+		return windowHandle;
+	}
+
+	@Override
+	public TargetLocator switchTo() {
+		return noOp(TargetLocator.class);
+	}
+
+	@Override
+	public Navigation navigate() {
+		return noOp(Navigation.class);
+	}
+
+	@Override
+	public Options manage() {
+		return noOp(Options.class);
+	}
+
+	@Override
+	public Object executeScript(String script, Object... args) {
+		checkOpen();
+		return null;
+	}
+
+	@Override
+	public Object executeAsyncScript(String script, Object... args) {
+		checkOpen();
+		return null;
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		checkOpen();
+		return target.convertFromPngBytes(SCREENSHOT);
+	}
+
+	private void checkOpen() {
+		if (quit) {
+			throw new IllegalStateException("Session " + sessionId + " has already been quit");
+		}
+	}
+
+	// Nested driver interfaces (options, navigation, ...) answer every call with
+	// null/false, or with this driver when the method returns a WebDriver.
+	private <T> T noOp(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if (method.getReturnType() == WebDriver.class) {
+						return this;
+					}
+					if (method.getReturnType().isInterface()) {
+						return noOp(method.getReturnType());
+					}
+					if (method.getReturnType() == boolean.class) {
+						return false;
+					}
+					return null;
+				}));
+	}
+
+	private static WebElement stubElement(String text) {
+		return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(), new Class<?>[] { WebElement.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "isDisplayed":
+					case "isEnabled":
+						return true;
+					case "isSelected":
+						return false;
+					case "getText":
+						return text;
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					case "toString":
+						return "StubWebElement[" + text + "]";
+					default:
+						return null;
+					}
+				});
+	}
+
+	private static byte[] renderScreenshot() {
+		BufferedImage image = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 1280, 720);
+		graphics.setColor(Color.DARK_GRAY);
+		for (int y = 40; y < 720; y += 120) {
+			graphics.fillRect(40, y, 1200, 80);
+		}
+		graphics.dispose();
+		try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			ImageIO.write(image, "png", out);
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Every combination of candidate values for a set of form fields, generated
+ * on demand from a running index, so a matrix of thousands of rows costs no
+ * more memory than one row.
+ *
+ * The mapper turns one combination into a data-provider row and is where the
+ * expected outcome is derived, e.g. "accepted when no field is empty".
+ */
+public class FieldCombinations implements Iterator<Object[]> {
+
+	private final List<List<String>> fields;
+	private final Function<String[], Object[]> toRow;
+	private final long total;
+	private long index;
+
+	public FieldCombinations(List<List<String>> fields, Function<String[], Object[]> toRow) {
+		this.fields = fields;
+		this.toRow = toRow;
+		long combinations = 1;
+		for (List<String> values : fields) {
+			combinations = Math.multiplyExact(combinations, values.size());
+		}
+		this.total = combinations;
+	}
+
+	/**
+	 * A valid value followed by the usual field-validation cases: empty,
+	 * whitespace, non-Latin and accented text, a long input, quotes, markup and
+	 * SQL-like text. All characters are in the BMP, which is all chromedriver can type.
+	 */
+	public static List<String> validationValues(String valid) {
+		return Arrays.asList(valid, "", " ", "a", "Ñandú", "李小龙", "١٢٣٤٥", "Øre-ßtraße", "x".repeat(256),
+				"O'Brien", "<b>bold</b>", "' OR '1'='1");
+	}
+
+	public long size() {
+		return total;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return index < total;
+	}
+
+	@Override
+	public Object[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		// the index is a number with one digit per field, in base "number of values of that field"
+		String[] values = new String[fields.size()];
+		long rest = index++;
+		for (int i = fields.size() - 1; i >= 0; i--) {
+			List<String> candidates = fields.get(i);
+			values[i] = candidates.get((int) (rest % candidates.size()));
+			rest /= candidates.size();
+		}
+		return toRow.apply(values);
+	}
+}
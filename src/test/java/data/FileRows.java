@@ -0,0 +1,168 @@
+package data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * Reads data-provider rows from a CSV or JSONL file one line at a time, so
+ * only the current row is in memory.
+ *
+ * CSV files start with a header line; values may be double-quoted ("" is a
+ * quote inside a quoted value). JSONL files hold one JSON array per line.
+ * Blank lines and lines starting with # are skipped. Values are converted to
+ * the parameter types of the test method (String, boolean, int, long, double).
+ * The path is looked up on disk first, then on the test classpath.
+ */
+public class FileRows implements Iterator<Object[]>, AutoCloseable {
+
+	private static final Json JSON = new Json();
+
+	private final String file;
+	private final boolean csv;
+	private final Class<?>[] types;
+	private final BufferedReader reader;
+	private Object[] nextRow;
+	private int lineNumber;
+
+	public FileRows(String file, Class<?>... types) {
+		this.file = file;
+		this.csv = file.toLowerCase().endsWith(".csv");
+		if (!csv && !file.toLowerCase().endsWith(".jsonl")) {
+			throw new RuntimeException("❌ Unsupported data file (expected .csv or .jsonl): " + file);
+		}
+		this.types = types;
+		this.reader = open(file);
+		if (csv) {
+			// header
+			nextDataLine();
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextRow == null) {
+			String line = nextDataLine();
+			if (line != null) {
+				nextRow = toRow(line);
+			}
+		}
+		return nextRow != null;
+	}
+
+	@Override
+	public Object[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("No more rows in " + file);
+		}
+		Object[] row = nextRow;
+		nextRow = null;
+		return row;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private Object[] toRow(String line) {
+		List<?> values = csv ? splitCsv(line) : JSON.toType(line, List.class);
+		if (values.size() != types.length) {
+			throw new RuntimeException("❌ " + file + ":" + lineNumber + " has " + values.size() + " value(s), expected "
+					+ types.length);
+		}
+		Object[] row = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			row[i] = convert(values.get(i), types[i]);
+		}
+		return row;
+	}
+
+	private static Object convert(Object value, Class<?> type) {
+		String text = value == null ? "" : String.valueOf(value);
+		if (type == boolean.class || type == Boolean.class) {
+			return Boolean.parseBoolean(text.trim());
+		} else if (type == int.class || type == Integer.class) {
+			return Integer.parseInt(text.trim());
+		} else if (type == long.class || type == Long.class) {
+			return Long.parseLong(text.trim());
+		} else if (type == double.class || type == Double.class) {
+			return Double.parseDouble(text.trim());
+		}
+		return text;
+	}
+
+	private static List<String> splitCsv(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+	private String nextDataLine() {
+		String line;
+		while ((line = readLine()) != null) {
+			if (!line.isBlank() && !line.startsWith("#")) {
+				return line;
+			}
+		}
+		return null;
+	}
+
+	private String readLine() {
+		try {
+			String line = reader.readLine();
+			lineNumber++;
+			return line;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read " + file, e);
+		}
+	}
+
+	private static BufferedReader open(String file) {
+		try {
+			Path path = Paths.get(file);
+			InputStream in = Files.exists(path) ? Files.newInputStream(path)
+					: FileRows.class.getClassLoader().getResourceAsStream(file);
+			if (in == null) {
+				throw new RuntimeException("❌ Data file not found on disk or classpath: " + file);
+			}
+			return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open " + file, e);
+		}
+	}
+}
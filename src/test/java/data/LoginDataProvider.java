@@ -1,14 +1,22 @@
 package data;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
 import org.testng.annotations.DataProvider;
 
 public class LoginDataProvider {
+
+	// Users the site lets in with the shared password (locked_out_user is refused)
+	private static final List<String> ACCEPTED_USERS = Arrays.asList("standard_user", "problem_user");
+	private static final String PASSWORD = "secret_sauce";
 	
-	@DataProvider(name = "loginCredentials")
-	public Object[][] getData(){
-		
+	// Rows run concurrently, each on its own data-provider thread and browser session
+	@DataProvider(name = "loginCredentials", parallel = true)
+	public Iterator<Object[]> getData(){
 		
-		return new Object[][] {
+		Object[][] builtin = new Object[][] {
 			  {"standard_user", "secret_sauce", true},
 	            {"invalid_user", "secret_sauce", false},
 	            {"standard_user", "wrong_pass", false},
@@ -16,7 +24,18 @@ public class LoginDataProvider {
 	            {"standard_user", "", false}
 		};
 		
-		
+		return TestData.rows("loginCredentials", builtin, LoginDataProvider::generated, String.class, String.class,
+				boolean.class);
+	}
+
+	// Known users and validation cases for the user name, crossed with password variants
+	private static Iterator<Object[]> generated() {
+		List<String> users = Arrays.asList("standard_user", "problem_user", "locked_out_user", "", " standard_user",
+				"STANDARD_USER", "Ñandú", "李小龙", "x".repeat(256), "' OR '1'='1");
+		List<String> passwords = FieldCombinations.validationValues(PASSWORD);
+		return new FieldCombinations(Arrays.asList(users, passwords),
+				values -> new Object[] { values[0], values[1],
+						ACCEPTED_USERS.contains(values[0]) && values[1].equals(PASSWORD) });
 	}
 
 }
@@ -0,0 +1,107 @@
+package data;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import listeners.RowStreamListener;
+import utils.ConfigReader;
+
+/**
+ * Hands the rows of a data provider to TestNG one at a time with a bounded
+ * number of rows in flight.
+ *
+ * For parallel data providers TestNG drains the whole iterator up front and
+ * queues every row for its data-provider threads, so a lazy source alone does
+ * not keep memory flat. While {@link RowStreamListener} is active, next()
+ * blocks once data.window rows (default: twice dataprovider.thread.count) are
+ * queued or running, and the listener frees a slot whenever a row finishes.
+ * Without the listener (e.g. when the shard planner lists rows) the stream
+ * never blocks.
+ */
+public class RowStream implements Iterator<Object[]> {
+
+	// Streams by data-provider name; a finished row releases a slot of its method's stream
+	private static final Map<String, RowStream> open = new ConcurrentHashMap<>();
+	private static volatile boolean flowControl;
+
+	private final String name;
+	private final Iterator<Object[]> source;
+	private final Semaphore window;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private long produced;
+	private boolean closed;
+
+	private RowStream(String name, Iterator<Object[]> source, int windowSize) {
+		this.name = name;
+		this.source = source;
+		this.window = new Semaphore(windowSize);
+	}
+
+	public static Iterator<Object[]> of(String name, Iterator<Object[]> source) {
+		RowStream stream = new RowStream(name, source, windowSize());
+		open.put(name, stream);
+		return stream;
+	}
+
+	public static void enableFlowControl() {
+		flowControl = true;
+	}
+
+	/**
+	 * Called once per finished row of the named data provider.
+	 */
+	public static void rowFinished(String name) {
+		RowStream stream = open.get(name);
+		if (stream != null && stream.inFlight.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+			stream.window.release();
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (source.hasNext()) {
+			return true;
+		}
+		close();
+		return false;
+	}
+
+	@Override
+	public Object[] next() {
+		if (flowControl) {
+			try {
+				window.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for a free row slot of " + name, e);
+			}
+			inFlight.incrementAndGet();
+		}
+		produced++;
+		return source.next();
+	}
+
+	private void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		System.out.println("Data " + name + ": " + produced + " row(s) streamed");
+		if (source instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) source).close();
+			} catch (Exception e) {
+				System.err.println("Failed to close rows of " + name + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private static int windowSize() {
+		String threads = ConfigReader.getProperty("dataprovider.thread.count", "1");
+		int defaultWindow = 2 * (threads.matches("\\d+") ? Integer.parseInt(threads) : 1);
+		return Math.max(1, ConfigReader.getInt("data.window", defaultWindow));
+	}
+}
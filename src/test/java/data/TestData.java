@@ -0,0 +1,36 @@
+package data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import utils.ConfigReader;
+
+/**
+ * Picks the rows of a data provider from data.&lt;provider name&gt; in
+ * config.properties (or -D), e.g. data.checkoutInfoData=generated:
+ *
+ * builtin           - the small matrix declared next to the test (default)
+ * generated         - the combinatorial field-validation matrix
+ * path.csv / .jsonl - a file streamed line by line, see {@link FileRows}
+ *
+ * Every source is lazy and goes through {@link RowStream}, so even thousands of
+ * rows feed the parallel data-provider threads without being loaded at once.
+ */
+public class TestData {
+
+	public static Iterator<Object[]> rows(String name, Object[][] builtin, Supplier<Iterator<Object[]>> generated,
+			Class<?>... types) {
+		String source = ConfigReader.getProperty("data." + name, "builtin");
+		Iterator<Object[]> rows;
+		if (source.equalsIgnoreCase("builtin")) {
+			rows = Arrays.asList(builtin).iterator();
+		} else if (source.equalsIgnoreCase("generated")) {
+			rows = generated.get();
+		} else {
+			rows = new FileRows(source, types);
+		}
+		System.out.println("Data " + name + ": streaming rows from " + source);
+		return RowStream.of(name, rows);
+	}
+}
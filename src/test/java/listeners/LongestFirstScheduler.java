@@ -0,0 +1,179 @@
+package listeners;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite.ParallelMode;
+
+import utils.ConfigReader;
+
+/**
+ * Orders independent test methods longest first so long flows start early
+ * instead of landing last on one worker and stretching the run.
+ *
+ * Durations come from the previous runs recorded in schedule.history
+ * (default test-durations.properties); a data-driven method counts with the
+ * total of all its rows. The interceptor also receives methods with
+ * dependsOnMethods/dependsOnGroups; reordering them is harmless because TestNG
+ * still runs them after the methods they depend on.
+ *
+ * At the end of the suite the expected makespan of the independent methods
+ * (longest-first simulation on the configured threads) is printed next to the
+ * actual wall time; dependent methods wait on others, so they are left out.
+ * schedule.order=declared turns the reordering off but keeps the recording.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+	private static final long DEFAULT_MILLIS = 5000;
+
+	private final Map<String, Long> measured = new ConcurrentHashMap<>();
+	private final Properties history = new Properties();
+	private long expectedMillis;
+	private int dependentMethods;
+	private int dataProviderThreads = 1;
+	private long suiteStart;
+
+	@Override
+	public void onStart(ISuite suite) {
+		suiteStart = System.currentTimeMillis();
+		Path file = historyFile();
+		if (Files.exists(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				history.load(in);
+			} catch (IOException e) {
+				System.err.println("Failed to read test durations from " + file + ": " + e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+		dataProviderThreads = Math.max(1, context.getSuite().getXmlSuite().getDataProviderThreadCount());
+		long fallback = averageKnown();
+		List<IMethodInstance> ordered = new ArrayList<>(methods);
+		if (!ConfigReader.getProperty("schedule.order", "longest-first").equalsIgnoreCase("declared")) {
+			// stable sort: methods without history keep their declared order among equals
+			ordered.sort(Comparator.comparingLong((IMethodInstance method) -> estimate(method.getMethod(), fallback))
+					.reversed());
+		}
+
+		boolean parallel = context.getSuite().getXmlSuite().getParallel() != ParallelMode.NONE;
+		int workers = parallel ? Math.max(1, context.getSuite().getXmlSuite().getThreadCount()) : 1;
+		expectedMillis += makespan(ordered, workers, fallback);
+		return ordered;
+	}
+
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		record(result);
+	}
+
+	@Override
+	public void onTestFailure(ITestResult result) {
+		record(result);
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		long actual = System.currentTimeMillis() - suiteStart;
+		System.out.printf("Schedule: expected makespan %.1f s (independent methods, %d dependent left out), actual %.1f s%n",
+				expectedMillis / 1000.0, dependentMethods, actual / 1000.0);
+
+		measured.forEach((key, millis) -> history.setProperty(key, String.valueOf(millis)));
+		Path file = historyFile();
+		try (OutputStream out = Files.newOutputStream(file)) {
+			history.store(out, "Duration in ms of each test method (all rows) in the latest run");
+		} catch (IOException e) {
+			System.err.println("Failed to write test durations to " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Simulates the order on the given number of workers: each independent
+	 * method starts on the worker that becomes free first.
+	 */
+	private long makespan(List<IMethodInstance> ordered, int workers, long fallback) {
+		PriorityQueue<Long> freeAt = new PriorityQueue<>();
+		for (int i = 0; i < workers; i++) {
+			freeAt.add(0L);
+		}
+		long end = 0;
+		for (IMethodInstance method : ordered) {
+			ITestNGMethod testMethod = method.getMethod();
+			if (testMethod.getMethodsDependedUpon().length > 0 || testMethod.getGroupsDependedUpon().length > 0) {
+				dependentMethods++;
+				continue;
+			}
+			long finish = freeAt.poll() + estimate(testMethod, fallback);
+			freeAt.add(finish);
+			end = Math.max(end, finish);
+		}
+		return end;
+	}
+
+	private long estimate(ITestNGMethod method, long fallback) {
+		String value = history.getProperty(key(method));
+		// invocations spread over their own thread pool finish in a fraction of the summed time
+		int parallelism = Math.max(method.getThreadPoolSize(), hasParallelRows(method) ? dataProviderThreads : 1);
+		return value == null ? fallback : Long.parseLong(value) / Math.max(1, parallelism);
+	}
+
+	// The interceptor runs before data providers are resolved, so read the annotations
+	private static boolean hasParallelRows(ITestNGMethod method) {
+		Test test = method.getConstructorOrMethod().getMethod().getAnnotation(Test.class);
+		if (test == null || test.dataProvider().isEmpty()) {
+			return false;
+		}
+		Class<?> source = test.dataProviderClass() == Object.class ? method.getRealClass() : test.dataProviderClass();
+		for (Method candidate : source.getMethods()) {
+			DataProvider provider = candidate.getAnnotation(DataProvider.class);
+			if (provider != null
+					&& (provider.name().isEmpty() ? candidate.getName() : provider.name()).equals(test.dataProvider())) {
+				return provider.parallel();
+			}
+		}
+		return false;
+	}
+
+	private long averageKnown() {
+		List<String> keys = new ArrayList<>(history.stringPropertyNames());
+		if (keys.isEmpty()) {
+			return DEFAULT_MILLIS;
+		}
+		return keys.stream().mapToLong(key -> Long.parseLong(history.getProperty(key))).sum() / keys.size();
+	}
+
+	private void record(ITestResult result) {
+		measured.merge(key(result.getMethod()), Math.max(0, result.getEndMillis() - result.getStartMillis()), Long::sum);
+	}
+
+	private static String key(ITestNGMethod method) {
+		return method.getRealClass().getName() + "." + method.getMethodName();
+	}
+
+	private static Path historyFile() {
+		return Paths.get(ConfigReader.getProperty("schedule.history", "test-durations.properties"));
+	}
+}
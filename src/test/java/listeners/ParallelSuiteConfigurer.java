@@ -0,0 +1,71 @@
+package listeners;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlSuite.ParallelMode;
+import org.testng.xml.XmlTest;
+
+import utils.ConfigReader;
+
+/**
+ * Applies the parallel settings from config.properties (or -D overrides) to
+ * every suite before it starts:
+ *
+ * parallel.mode             = none | methods | classes | tests
+ * thread.count              = auto (one worker per CPU core) | number
+ * dataprovider.thread.count = auto (one per CPU core) | number
+ *
+ * The last one sizes TestNG's separate pool for rows of data providers marked
+ * parallel = true; those rows run concurrently even with parallel.mode=none.
+ * Both effective counts are published back as system properties so the
+ * driver pool can size itself to the number of sessions in use at once.
+ */
+public class ParallelSuiteConfigurer implements IAlterSuiteListener {
+
+	@Override
+	public void alter(List<XmlSuite> suites) {
+		ParallelMode mode = parseMode(ConfigReader.getProperty("parallel.mode", "none"));
+		int threads = mode == ParallelMode.NONE ? 1 : resolveThreadCount("thread.count");
+		int dataProviderThreads = resolveThreadCount("dataprovider.thread.count");
+		System.setProperty("thread.count", String.valueOf(threads));
+		System.setProperty("dataprovider.thread.count", String.valueOf(dataProviderThreads));
+
+		for (XmlSuite suite : suites) {
+			suite.setParallel(mode);
+			suite.setThreadCount(threads);
+			suite.setDataProviderThreadCount(dataProviderThreads);
+			for (XmlTest xmlTest : suite.getTests()) {
+				xmlTest.setParallel(mode);
+				xmlTest.setThreadCount(threads);
+			}
+		}
+		System.out.println("Parallel mode: " + mode + " with " + threads + " thread(s), "
+				+ dataProviderThreads + " data-provider thread(s)");
+	}
+
+	private static ParallelMode parseMode(String value) {
+		switch (value.toLowerCase()) {
+		case "none":
+		case "false":
+			return ParallelMode.NONE;
+		case "methods":
+			return ParallelMode.METHODS;
+		case "classes":
+			return ParallelMode.CLASSES;
+		case "tests":
+			return ParallelMode.TESTS;
+		default:
+			throw new IllegalArgumentException("Unsupported parallel.mode: " + value);
+		}
+	}
+
+	private static int resolveThreadCount(String key) {
+		String value = ConfigReader.getProperty(key, "auto");
+		if (value.equalsIgnoreCase("auto")) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		return Math.max(1, ConfigReader.getInt(key, 1));
+	}
+}
@@ -0,0 +1,48 @@
+package listeners;
+
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import data.RowStream;
+
+/**
+ * Frees a slot of the data provider's {@link RowStream} whenever one of its
+ * rows finishes, which lets the stream hand the next row to TestNG. Turns on
+ * the streams' flow control when the first test context starts.
+ */
+public class RowStreamListener implements ITestListener {
+
+	@Override
+	public void onStart(ITestContext context) {
+		RowStream.enableFlowControl();
+	}
+
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		finished(result);
+	}
+
+	@Override
+	public void onTestFailure(ITestResult result) {
+		finished(result);
+	}
+
+	@Override
+	public void onTestSkipped(ITestResult result) {
+		finished(result);
+	}
+
+	@Override
+	public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+		finished(result);
+	}
+
+	private void finished(ITestResult result) {
+		Test test = result.getMethod().getConstructorOrMethod().getMethod().getAnnotation(Test.class);
+		if (test != null && !test.dataProvider().isEmpty()) {
+			RowStream.rowFinished(test.dataProvider());
+		}
+	}
+}
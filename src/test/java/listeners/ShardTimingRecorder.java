@@ -0,0 +1,62 @@
+package listeners;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import runner.ShardRunner;
+
+/**
+ * Records how long each shard unit took in a shard JVM: the total of a class's
+ * regular test methods, and every data-provider row on its own. Skipped tests
+ * are left out so they do not overwrite a real duration with zero. Written to the
+ * file named by the shard.timings system property when the suite finishes, and
+ * merged into the timing history by {@link ShardRunner}.
+ */
+public class ShardTimingRecorder implements ITestListener, ISuiteListener {
+
+	private final Map<String, Long> millisByUnit = new ConcurrentHashMap<>();
+
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		record(result);
+	}
+
+	@Override
+	public void onTestFailure(ITestResult result) {
+		record(result);
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		String target = System.getProperty("shard.timings");
+		if (target == null) {
+			return;
+		}
+		Properties timings = new Properties();
+		millisByUnit.forEach((unit, millis) -> timings.setProperty(unit, String.valueOf(millis)));
+		Path file = Paths.get(target);
+		try (OutputStream out = Files.newOutputStream(file)) {
+			timings.store(out, "Shard unit durations in ms");
+		} catch (IOException e) {
+			System.err.println("Failed to write shard timings to " + file + ": " + e.getMessage());
+		}
+	}
+
+	private void record(ITestResult result) {
+		String className = result.getTestClass().getName();
+		String unit = result.getParameters().length == 0 ? className
+				: ShardRunner.historyKey(className, result.getMethod().getMethodName(), result.getParameters());
+		millisByUnit.merge(unit, Math.max(0, result.getEndMillis() - result.getStartMillis()), Long::sum);
+	}
+}
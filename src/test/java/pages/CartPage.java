@@ -7,28 +7,38 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
+import utils.DomReader;
+import utils.Locator;
+import utils.LocatorRegistry;
+import utils.NetworkBudget;
+import utils.PageElements;
 import utils.WaitUtils;
+import utils.WebVitals;
 
 public class CartPage {
 
-	private ThreadLocal<WebDriver> tDriver = new ThreadLocal<>();
+	// Page-load limits from budget.cart.* in config.properties
+	public static final NetworkBudget BUDGET = NetworkBudget.declare("cart", "/cart.html");
+
+	private final WebDriver driver;
+	private final PageElements elements;
 
 	public WebDriver getDriver() {
-		return tDriver.get();
+		return driver;
 	}
 
 	public CartPage(WebDriver driver) {
-		tDriver.set(driver);
+		this.driver = driver;
+		this.elements = new PageElements(driver);
 	}
 
-	private By cartButton = By.className("shopping_cart_link");
-	private By cartTitle = By.xpath("//span[text()='Your Cart']");
-	private By cartItemCount = By.className("cart_item_label");
-	private By checkoutButton = By.xpath("//button[text()='Checkout']");
-	private By productNames = By.className("inventory_item_name");
-	private By removeButton = By.xpath(".//button[text()='Remove']");
-	private By priceList = By.className("inventory_item_price");
-	private By continueShoppingButton = By.id("continue-shopping");
+	private Locator cartButton = Locator.dataTest("cart.link", "shopping-cart-link", By.className("shopping_cart_link"));
+	private Locator cartTitle = Locator.dataTest("cart.title", "title", By.className("title"));
+	private Locator cartItemCount = Locator.of("cart.itemLabel", By.className("cart_item_label"));
+	private Locator checkoutButton = Locator.dataTest("cart.checkout", "checkout", By.xpath("//button[text()='Checkout']"));
+	private Locator continueShoppingButton = Locator.dataTest("cart.continueShopping", "continue-shopping",
+			By.id("continue-shopping"));
+	private Locator cartList = Locator.dataTest("cart.list", "cart-list", By.className("cart_list"));
 	
 
 	/*
@@ -49,8 +59,10 @@ public class CartPage {
 
 	// 1. Click cart icon to navigate to cart page
 	public void openCart() {
-		WaitUtils.waitForClickability(getDriver(), cartButton, 10);
-		getDriver().findElement(cartButton).click();
+		elements.click(cartButton);
+		// the cart is rendered client-side; wait for it before callers count rows
+		WaitUtils.waitForPresence(getDriver(), LocatorRegistry.by(cartList));
+		WebVitals.collect(getDriver(), "cart");
 	}
 	
 	public boolean isCartLoaded() {
@@ -60,8 +72,8 @@ public class CartPage {
 	// 2. Get cart page title
 	public boolean getCartTitle() {
 		try {
-	        WaitUtils.waitForVisibility(getDriver(), cartTitle, 10);  // bump timeout
-	        return getDriver().findElement(cartTitle).isDisplayed();
+	        elements.waitForText(cartTitle, "Your Cart");
+	        return true;
 	    } catch (Exception e) {
 	        System.out.println("⚠️ Cart title not found. URL: " + getDriver().getCurrentUrl());
 	        throw e;
@@ -70,25 +82,23 @@ public class CartPage {
 
 	// 3. Get Cart item count
 	public int getCartItemCount() {
-		return getDriver().findElements(cartItemCount).size();
+		return elements.findAll(cartItemCount).size();
 	}
 
 	// 4. Click Checkout Button
 	public boolean checkCheckoutButtonVisibility() {
-		return getDriver().findElement(checkoutButton).isDisplayed();
+		return elements.isDisplayed(checkoutButton);
 	}
 
 	// 5. Click Checkout Button
 	public void clickCheckoutButton() {
-		WaitUtils.waitForVisibility(getDriver(), checkoutButton, 5);
-		getDriver().findElement(checkoutButton).click();
+		elements.click(checkoutButton);
 	}
 	
 	// 6. Click Continue Shopping Button
 	public void clickContinueShopping() {
 		try {
-		WebElement button = WaitUtils.waitForClickability(getDriver(), continueShoppingButton, 5);
-		button.click();
+		elements.click(continueShoppingButton);
 		 System.out.println("✅ Clicked 'Continue Shopping' button.");
 		}catch (Exception e) {
 			System.out.println("Continue Shopping button is not clickable");
@@ -105,43 +115,39 @@ public class CartPage {
 	// 7. Integrity Testing - Multiple different/same items added show up correctly
 	public List<String> fetchUniqueCartItems() {
 		try {
-			WaitUtils.waitForVisibility(getDriver(), cartTitle, 10);
+			elements.waitForText(cartTitle, "Your Cart");
 		} catch (Exception e) {
 			System.out.println("DEBUG: Cart page did not load or selector is incorrect.");
 			throw e;
 		}
-		List<WebElement> products = getDriver().findElements(productNames);
+		List<String> products = DomReader.texts(getDriver(), ".inventory_item_name");
 		System.out.println("Cart items: " + products);
-		return products.stream().map(WebElement::getText).collect(Collectors.toList());
+		return products;
 	}
 
 	public void removeItem(String productName) {
-		List<WebElement> products = getDriver().findElements(productNames);
-
-		for (WebElement product : products) {
-			String name = product.getText().trim();
-			if (name.equals(productName)) {
-				// Step 1: Find cart row container
-				WebElement itemRow = product.findElement(By.xpath("./ancestor::div[contains(@class, 'cart_item')]"));
-
-				// Step 2: Click Remove button *inside the row*
-				WebElement removeBtn = itemRow.findElement(removeButton);
-				WaitUtils.waitForClickability(getDriver(), removeBtn, 5);
-				removeBtn.click();
+		// Each row's Remove button carries data-test "remove-<product name slug>"
+		Locator removeButton = Locator.dataTest("cart.remove." + productName,
+				"remove-" + productName.toLowerCase().replace(' ', '-'),
+				By.xpath("//div[contains(@class, 'cart_item')][.//div[@class='inventory_item_name' and text()='"
+						+ productName + "']]//button[text()='Remove']"));
+		List<WebElement> buttons = elements.findAll(removeButton);
+		if (buttons.isEmpty()) {
+			return;
+		}
 
-				// Step 3: Wait for the **product name element** itself to become stale (not the
-				// row)
-				WaitUtils.waitForStaleness(getDriver(), product, 5);
+		WebElement removeBtn = WaitUtils.waitForClickability(getDriver(), buttons.get(0));
+		removeBtn.click();
 
-				break;
-			}
-		}
+		// The row is removed from the DOM, taking the button with it
+		WaitUtils.waitForStaleness(getDriver(), removeBtn);
 	}
 
 	// 8. Get all Prices
 	public List<Double> getAllItemPrices() {
-		return getDriver().findElements(priceList).stream()
-				.map(e -> Double.parseDouble(e.getText().replace("$", "").trim())).collect(Collectors.toList());
+		// one script call for all prices instead of a getText() round trip per row
+		return DomReader.texts(getDriver(), ".inventory_item_price").stream()
+				.map(text -> Double.parseDouble(text.replace("$", "").trim())).collect(Collectors.toList());
 
 	}
 
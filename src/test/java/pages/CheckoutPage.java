@@ -1,120 +1,132 @@
 package pages;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
-import utils.WaitUtils;
+import utils.DomReader;
+import utils.Locator;
+import utils.NetworkBudget;
+import utils.PageElements;
+import utils.WebVitals;
 
 public class CheckoutPage {
 
-	private ThreadLocal<WebDriver> tLocal = new ThreadLocal<>();
+	// Page-load limits of the three checkout steps from budget.checkout*.* in config.properties
+	public static final NetworkBudget INFO_BUDGET = NetworkBudget.declare("checkoutInfo", "/checkout-step-one.html");
+	public static final NetworkBudget OVERVIEW_BUDGET = NetworkBudget.declare("checkoutOverview",
+			"/checkout-step-two.html");
+	public static final NetworkBudget COMPLETE_BUDGET = NetworkBudget.declare("checkoutComplete",
+			"/checkout-complete.html");
+
+	private final WebDriver driver;
+	private final PageElements elements;
+
+	// All checkout steps share one title element; each step checks its text
+	private Locator title = Locator.dataTest("checkout.title", "title", By.className("title"));
 
 	// Checkout Info
-	private By checkoutTitle = By.xpath("//span[text() = 'Checkout: Your Information']");
-	private By firstName = By.id("first-name");
-	private By lastName = By.id("last-name");
-	private By postalCode = By.id("postal-code");
-	private By cancelBtn = By.id("cancel");
-	private By continueBtn = By.id("continue");
-	private By errorMessage = By.className("error-button");
+	private Locator firstName = Locator.dataTest("checkout.firstName", "firstName", By.id("first-name"));
+	private Locator lastName = Locator.dataTest("checkout.lastName", "lastName", By.id("last-name"));
+	private Locator postalCode = Locator.dataTest("checkout.postalCode", "postalCode", By.id("postal-code"));
+	private Locator cancelBtn = Locator.dataTest("checkout.cancel", "cancel", By.id("cancel"));
+	private Locator continueBtn = Locator.dataTest("checkout.continue", "continue", By.id("continue"));
+	private Locator errorMessage = Locator.dataTest("checkout.error", "error-button", By.className("error-button"));
 
 	// checkout:Overview
-	private By title = By.xpath("//span[text()='Checkout: Overview']");
-	private By finishButton = By.id("finish");
-	private By itemNames = By.className("inventory_item_name");
-	private By subtotalLabel = By.className("summary_subtotal_label");
-	private By taxLabel = By.className("summary_tax_label");
-	private By totalLabel = By.className("summary_total_label");
-	private By completePage = By.xpath("//span[text() = 'Checkout: Complete!']");
-	private By backHome = By.xpath("//button[text() = 'Back Home']");
+	private Locator finishButton = Locator.dataTest("checkout.finish", "finish", By.id("finish"));
+	private Locator subtotalLabel = Locator.dataTest("checkout.subtotal", "subtotal-label",
+			By.className("summary_subtotal_label"));
+	private Locator taxLabel = Locator.dataTest("checkout.tax", "tax-label", By.className("summary_tax_label"));
+	private Locator totalLabel = Locator.dataTest("checkout.total", "total-label", By.className("summary_total_label"));
+	private Locator backHome = Locator.dataTest("checkout.backHome", "back-to-products",
+			By.xpath("//button[text() = 'Back Home']"));
 
 	public WebDriver getDriver() {
-		return tLocal.get();
+		return driver;
 	}
 
 	public CheckoutPage(WebDriver driver) {
-		tLocal.set(driver);
+		this.driver = driver;
+		this.elements = new PageElements(driver);
 	}
 
 //	Sanity Scenarios for Checkout
 
 	// 1. Checkout info: Your Information Page
 	public boolean isOnCheckoutInformationPage() {
-		WaitUtils.waitForVisibility(getDriver(), checkoutTitle, 10);
-		return getDriver().findElement(checkoutTitle).isDisplayed();
+		elements.waitForText(title, "Checkout: Your Information");
+		WebVitals.collect(driver, "checkoutInfo");
+		return true;
 	}
 
 	// 2. Checkout info: fillCheckoutForm
 	public void fillCheckoutForm(String first, String last, String zip) {
-		getDriver().findElement(firstName).sendKeys(first);
-		getDriver().findElement(lastName).sendKeys(last);
-		getDriver().findElement(postalCode).sendKeys(zip);
+		elements.waitForVisible(firstName).sendKeys(first);
+		elements.type(lastName, last);
+		elements.type(postalCode, zip);
 
 	}
 
 	// 3. Checkout info: Click continue button
 	public void clickContinue() {
-		WaitUtils.waitForClickability(getDriver(), continueBtn, 5);
-		getDriver().findElement(continueBtn).click();
+		elements.click(continueBtn);
 
 	}
 	
 	public void clickCancel() {
-		WaitUtils.waitForClickability(getDriver(), cancelBtn, 5);
-		getDriver().findElement(cancelBtn).click();
+		elements.click(cancelBtn);
 
 	}
 
 
 	// 4. Checkout overview: Overview visibility
 	public boolean isOnOverviewPage() {
-		WaitUtils.waitForVisibility(getDriver(), title, 5);
-		return getDriver().findElement(title).isDisplayed();
+		elements.waitForText(title, "Checkout: Overview");
+		WebVitals.collect(driver, "checkoutOverview");
+		return true;
 	}
 
 	// 5. Checkout overview: getItemNames
 	public List<String> getItemNames() {
-		return getDriver().findElements(itemNames).stream().map(e -> e.getText().trim()).collect(Collectors.toList());
+		return DomReader.texts(getDriver(), ".inventory_item_name");
 	}
 
 	// 6. Checkout overview: getSubtotal
 	public double getSubtotal() {
-		return Double.parseDouble(getDriver().findElement(subtotalLabel).getText().replace("Item total: $", "").trim());
+		return Double.parseDouble(elements.text(subtotalLabel).replace("Item total: $", "").trim());
 	}
 
 	// 7. Checkout overview: getTax
 	public double getTax() {
-		return Double.parseDouble(getDriver().findElement(taxLabel).getText().replace("Tax: $", "").trim());
+		return Double.parseDouble(elements.text(taxLabel).replace("Tax: $", "").trim());
 	}
 	// 8. Checkout overview: getTotal
 	public double getTotal() {
-		return Double.parseDouble(getDriver().findElement(totalLabel).getText().replace("Total: $", "").trim());
+		return Double.parseDouble(elements.text(totalLabel).replace("Total: $", "").trim());
 	}
 	
 	// 9. Checkout overview: clickFinish
 	public void clickFinish() {
-		WaitUtils.waitForClickability(getDriver(), finishButton, 5);
-		getDriver().findElement(finishButton).click();
+		elements.click(finishButton);
 	}
 	
 	//10 Checkout Info: Error 
 	public boolean isErrorMessageVisible() {
-		return getDriver().findElements(errorMessage).size()>0;
+		return elements.isPresent(errorMessage);
 	}
 
 	//11 Checkout complete page 
 	public boolean isCompleted() {
-		WaitUtils.waitForVisibility(getDriver(), completePage, 10);
-		return getDriver().findElement(completePage).isDisplayed();
+		elements.waitForText(title, "Checkout: Complete!");
+		WebVitals.collect(driver, "checkoutComplete");
+		return true;
 		
 	}
 	
 	public void backToHome() {
-		WaitUtils.waitForClickability(getDriver(), backHome, 5);
-		getDriver().findElement(backHome).click();
+		elements.click(backHome);
 	}
 
 
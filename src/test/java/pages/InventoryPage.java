@@ -10,70 +10,77 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
 
+import utils.Locator;
+import utils.LocatorRegistry;
+import utils.NetworkBudget;
+import utils.PageElements;
 import utils.WaitUtils;
+import utils.WebVitals;
 
 public class InventoryPage {
 	
-	public static ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
+	// Page-load limits from budget.inventory.* in config.properties
+	public static final NetworkBudget BUDGET = NetworkBudget.declare("inventory", "/inventory.html");
+
+	// Page objects are created per test on the worker thread, so a plain field is thread-safe
+	private final WebDriver driver;
+	private final PageElements elements;
 
 	  public WebDriver getDriver() {
-	    	return threadDriver.get();
+	    	return driver;
 	    }
-	//private WebDriver driver;
 
-	private By inventoryContainer = By.id("inventory_container");
-	private By errorMessage = By.cssSelector(".error-message-container");
-	private By productCount = By.className("inventory_item");
-	private By productNames = By.className("inventory_item_name");
-	private By addToCartButton = By.xpath("//button[text()= 'Add to cart']");
-	private By countCartIcon = By.className("shopping_cart_badge");
-	private By removeCartItems = By.xpath("//button[text()= 'Remove']");
-	private By sortIcon = By.className("product_sort_container");
-	private By productPrice = By.className("inventory_item_price");
+	private Locator inventoryContainer = Locator.dataTest("inventory.container", "inventory-container",
+			By.id("inventory_container"));
+	private Locator errorMessage = Locator.of("inventory.error", By.cssSelector(".error-message-container"));
+	private Locator productCount = Locator.dataTest("inventory.item", "inventory-item", By.className("inventory_item"));
+	private Locator addToCartButton = Locator.dataTestPrefix("inventory.addToCart", "add-to-cart",
+			By.xpath("//button[text()= 'Add to cart']"));
+	private Locator removeCartItems = Locator.dataTestPrefix("inventory.remove", "remove",
+			By.xpath("//button[text()= 'Remove']"));
+	private Locator sortIcon = Locator.dataTest("inventory.sort", "product-sort-container",
+			By.className("product_sort_container"));
 
 
 	public InventoryPage(WebDriver driver) {
-		threadDriver.set(driver);
+		this.driver = driver;
+		this.elements = new PageElements(driver);
 	}
 
 	// 1. Page Load & Visibility
 	// 1.1 Page loads successful
 	public boolean isInventoryVisible() {
-		return getDriver().findElements(inventoryContainer).size() > 0;
+		boolean visible = WaitUtils.isPresent(getDriver(), LocatorRegistry.by(inventoryContainer),
+				WaitUtils.defaultTimeout());
+		if (visible) {
+			WebVitals.collect(getDriver(), "inventory");
+		}
+		return visible;
 	}
 
 	// 1.2 Page loads unsuccessful
 	public boolean isErrorDisplayed() {
-		return getDriver().findElements(errorMessage).size() > 0;
+		return elements.isPresent(errorMessage);
 	}
 
 	// 2. Get product count
 	public int getProductCount() {
-		return getDriver().findElements(productCount).size();
+		return elements.findAll(productCount).size();
 	}
 
 	// 3. Get list products name available in inventory
 	public List<String> getProductName() {
+		return snapshot().getNames();
+	}
 
-		// Storing all the elements in to web element list
-		List<WebElement> elements = getDriver().findElements(productNames);
-
-		// to store the text content of each found web element
-		List<String> names = new ArrayList<>();
-
-		// - The loop extracts information from each element one by one
-		for (WebElement pn : elements) {
-
-			// - Adds this text to the names list.
-			names.add(pn.getText());
-
-		}
-		return names;
-
+	// Reads names, prices, button labels and the cart badge in one round trip
+	public InventorySnapshot snapshot() {
+		return InventorySnapshot.capture(getDriver());
 	}
+
 	// Add Method to Add First Item to Cart
 		public void addFirstItemToCart() {
-			List<WebElement> buttons = getDriver().findElements(addToCartButton);
+			List<WebElement> buttons = elements.findAll(addToCartButton);
 
 			if (!buttons.isEmpty()) {
 				buttons.get(0).click();
@@ -83,13 +90,12 @@ public class InventoryPage {
 
 	// Add Method to Get Cart Badge Count
 	public int getCartBadgeCount() {
-		List<WebElement> badges = getDriver().findElements(countCartIcon);
+		String badgeText = snapshot().getCartBadge();
 
-		if (badges.isEmpty()) {
-			System.out.println("Cart badge is not visible (assumed 0)" + badges);
+		if (badgeText.isEmpty()) {
+			System.out.println("Cart badge is not visible (assumed 0)");
 			return 0;
 		}
-		String badgeText = badges.get(0).getText().trim();
 		System.out.println("Badge is visble with the value " + badgeText);
 		try {
 			return Integer.parseInt(badgeText);
@@ -102,11 +108,10 @@ public class InventoryPage {
 	// Add All the products to cart
 	public int addAllProduct() {
 		int count = 0;
-		List<WebElement> list = getDriver().findElements(addToCartButton);
+		List<WebElement> list = elements.findAll(addToCartButton);
 		// List<WebElement> allList = new ArrayList<>();
 		for (WebElement webElement : list) {
-			WaitUtils.waitForClickability(getDriver(), addToCartButton, 5);
-			webElement.click();
+			WaitUtils.waitForClickability(getDriver(), webElement).click();
 			count++;
 		}
 		return count;
@@ -115,10 +120,9 @@ public class InventoryPage {
 	// Remove all the products from cart
 	public int removeAllTheProducts() {
 		int RCount = 0;
-		List<WebElement> removeList = getDriver().findElements(removeCartItems);
+		List<WebElement> removeList = elements.findAll(removeCartItems);
 		for (WebElement webElement : removeList) {
-			WaitUtils.waitForClickability(getDriver(), removeCartItems, 5);
-			webElement.click();
+			WaitUtils.waitForClickability(getDriver(), webElement).click();
 			RCount++;
 
 		}
@@ -128,10 +132,10 @@ public class InventoryPage {
 
 	// remove first product from cart
 	public int removeItemFromCart() {
-		List<WebElement> elements = getDriver().findElements(removeCartItems);
+		List<WebElement> buttons = elements.findAll(removeCartItems);
 		int removeCount = 0;
-		if (!elements.isEmpty()) {
-			elements.remove(0);
+		if (!buttons.isEmpty()) {
+			buttons.remove(0);
 
 		}
 		return removeCount;
@@ -140,38 +144,25 @@ public class InventoryPage {
 
 	// Add a specific product to cart
 	public void addSpecificProductToCart(String specificProductName) {
-		List<WebElement> productCards = getDriver().findElements(By.className("inventory_item"));
-		boolean found = false;
-
-		for (WebElement card : productCards) {
-			String name = card.findElement(By.className("inventory_item_name")).getText().trim();
-
-			if (name.equalsIgnoreCase(specificProductName)) {
-				WebElement addButton = card.findElement(By.xpath(".//button[contains(text(), 'Add to cart')]"));
-				String label = addButton.getText().trim();
-
-				
-				 if (label.equalsIgnoreCase("Add to cart")) {
-		                WaitUtils.waitForClickability(getDriver(), addButton, 5).click();
-		                System.out.println("✅ Added to cart: " + name);
-		            } else {
-		                System.out.println("⚠️ Product already added or unexpected label: " + label);
-		            }
-
-		            found = true;
-		            break;
-		        }
-		    }
-
-		    if (!found) {
-		        throw new RuntimeException("❌ Product not found: " + specificProductName);
-		    }
+		InventorySnapshot.Product product = snapshot().find(specificProductName);
+
+		if (product == null) {
+			throw new RuntimeException("❌ Product not found: " + specificProductName);
 		}
 
+		String label = product.getButtonLabel();
+		if (label.equalsIgnoreCase("Add to cart")) {
+			WaitUtils.waitForClickability(getDriver(), product.getButton()).click();
+			System.out.println("✅ Added to cart: " + product.getName());
+		} else {
+			System.out.println("⚠️ Product already added or unexpected label: " + label);
+		}
+	}
+
 
 	// Sort option
 	public void selectSortOption(String options) {
-		WebElement dropdown = getDriver().findElement(sortIcon);
+		WebElement dropdown = elements.find(sortIcon);
 		new Select(dropdown).selectByVisibleText(options);
 
 	}
@@ -191,14 +182,7 @@ public class InventoryPage {
 	}
 
 	public boolean isProductPriceSortingAscending() {
-		List<WebElement> elements = getDriver().findElements(productPrice);
-		List<Double> prices = new ArrayList<>();
-
-		for (WebElement pp : elements) {
-
-			prices.add(Double.parseDouble(pp.getText().replace("$", "").trim()));
-
-		}
+		List<Double> prices = snapshot().getPrices();
 
 		List<Double> sorted = new ArrayList<>(prices);
 		Collections.sort(sorted);
@@ -207,11 +191,7 @@ public class InventoryPage {
 	}
 	
 	public boolean isProductPriceSortingDesending() {
-		List<WebElement> element = getDriver().findElements(productPrice);
-		List<Double> prices = new ArrayList<>();
-		for (WebElement pp : element) {
-			prices.add(Double.parseDouble(pp.getText().replace("$", "").trim()));
-		}
+		List<Double> prices = snapshot().getPrices();
 		
 		List<Double> sorted = new ArrayList<>(prices);
 		sorted.sort(Collections.reverseOrder());
@@ -0,0 +1,125 @@
+package pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Immutable view of the inventory page read with a single executeScript call:
+ * every product's name, price and cart button, plus the cart badge.
+ *
+ * Reading the same data through findElements + getText costs one chromedriver
+ * round trip per element; the snapshot costs one in total.
+ */
+public final class InventorySnapshot {
+
+	private static final String SCRIPT =
+			"var items = document.querySelectorAll('.inventory_item');"
+			+ "var products = [];"
+			+ "for (var i = 0; i < items.length; i++) {"
+			+ "  var name = items[i].querySelector('.inventory_item_name');"
+			+ "  var price = items[i].querySelector('.inventory_item_price');"
+			+ "  var button = items[i].querySelector('button');"
+			+ "  products.push({"
+			+ "    name: name ? name.textContent.trim() : '',"
+			+ "    price: price ? price.textContent.trim() : '',"
+			+ "    label: button ? button.textContent.trim() : '',"
+			+ "    button: button });"
+			+ "}"
+			+ "var badge = document.querySelector('.shopping_cart_badge');"
+			+ "return { products: products, badge: badge ? badge.textContent.trim() : '' };";
+
+	private final List<Product> products;
+	private final String cartBadge;
+
+	private InventorySnapshot(List<Product> products, String cartBadge) {
+		this.products = Collections.unmodifiableList(products);
+		this.cartBadge = cartBadge;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static InventorySnapshot capture(WebDriver driver) {
+		Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT);
+
+		List<Product> products = new ArrayList<>();
+		for (Map<String, Object> item : (List<Map<String, Object>>) result.get("products")) {
+			products.add(new Product((String) item.get("name"), (String) item.get("price"),
+					(String) item.get("label"), (WebElement) item.get("button")));
+		}
+		return new InventorySnapshot(products, (String) result.get("badge"));
+	}
+
+	public List<Product> getProducts() {
+		return products;
+	}
+
+	public List<String> getNames() {
+		List<String> names = new ArrayList<>();
+		for (Product product : products) {
+			names.add(product.getName());
+		}
+		return names;
+	}
+
+	public List<Double> getPrices() {
+		List<Double> prices = new ArrayList<>();
+		for (Product product : products) {
+			prices.add(product.getPrice());
+		}
+		return prices;
+	}
+
+	/**
+	 * Raw badge text; empty when the badge is not shown (empty cart).
+	 */
+	public String getCartBadge() {
+		return cartBadge;
+	}
+
+	public Product find(String productName) {
+		for (Product product : products) {
+			if (product.getName().equalsIgnoreCase(productName)) {
+				return product;
+			}
+		}
+		return null;
+	}
+
+	public static final class Product {
+		private final String name;
+		private final String priceText;
+		private final String buttonLabel;
+		private final WebElement button;
+
+		Product(String name, String priceText, String buttonLabel, WebElement button) {
+			this.name = name;
+			this.priceText = priceText;
+			this.buttonLabel = buttonLabel;
+			this.button = button;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public double getPrice() {
+			return Double.parseDouble(priceText.replace("$", "").trim());
+		}
+
+		public String getButtonLabel() {
+			return buttonLabel;
+		}
+
+		/**
+		 * Handle to the card's cart button as it was when the snapshot was taken.
+		 */
+		public WebElement getButton() {
+			return button;
+		}
+	}
+}
@@ -2,26 +2,40 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import utils.Locator;
+import utils.NetworkBudget;
+import utils.PageElements;
+import utils.WebVitals;
 
 public class LoginPage {
-    private WebDriver driver;
+    // Page-load limits from budget.login.* in config.properties
+    public static final NetworkBudget BUDGET = NetworkBudget.declare("login", "/", "/index.html");
+
+    private final WebDriver driver;
+    private final PageElements elements;
 
-    private By usernameField = By.id("user-name");
-    private By passwordField = By.id("password");
-    private By loginButton = By.id("login-button");
-    private By errorMessage = By.cssSelector("[data-test='error']");
+    private Locator usernameField = Locator.dataTest("login.username", "username", By.id("user-name"));
+    private Locator passwordField = Locator.dataTest("login.password", "password", By.id("password"));
+    private Locator loginButton = Locator.dataTest("login.button", "login-button", By.id("login-button"));
+    private Locator errorMessage = Locator.of("login.error", By.cssSelector("[data-test='error']"));
 
     public LoginPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new PageElements(driver);
     }
 
     public void login(String username, String password) {
-        driver.findElement(usernameField).sendKeys(username);
-        driver.findElement(passwordField).sendKeys(password);
-        driver.findElement(loginButton).click();
+        WebElement field = elements.waitForVisible(usernameField);
+        WebVitals.collect(driver, "login");
+        field.sendKeys(username);
+        elements.type(passwordField, password);
+        elements.find(loginButton).click();
+        elements.invalidate();
     }
 
     public boolean isErrorDisplayed() {
-        return driver.findElement(errorMessage).isDisplayed();
+        return elements.isDisplayed(errorMessage);
     }
 }
\ No newline at end of file
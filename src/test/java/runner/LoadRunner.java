@@ -0,0 +1,312 @@
+package runner;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.InventoryPage;
+import pages.LoginPage;
+import utils.ConfigReader;
+import utils.DriverFactory;
+import utils.LatencyHistogram;
+import utils.LocalSwagLabsServer;
+
+/**
+ * Replays the checkout happy path of CheckoutTest (login, add the Bolt
+ * T-Shirt, cart, checkout form, finish) with N concurrent virtual users, each
+ * driving its own pooled headless session through the regular page objects.
+ *
+ * Users start evenly spread over the ramp-up and repeat the scenario until the
+ * duration is over, pausing a random 50-150% of the think time between steps.
+ * Every iteration starts from a freshly reset session (a new visitor). At the
+ * end checkouts/min (overall and after ramp-up) and the latency distribution
+ * of each step are printed and written to reports/load-summary.json.
+ *
+ * Usage: mvn test-compile exec:exec -Pload -Dload.users=10 -Dload.rampUp=30 -Dload.duration=300
+ * Settings: load.users, load.rampUp (s), load.duration (s), load.thinkTimeMs,
+ * plus any framework setting; baseUrl=local runs against the embedded stand-in.
+ */
+public class LoadRunner {
+
+	private static final String PRODUCT = "Sauce Labs Bolt T-Shirt";
+	private static final String[] STEPS = { "login", "addToCart", "cart", "checkoutInfo", "overview", "finish" };
+	private static final Path SUMMARY_FILE = Paths.get("reports", "load-summary.json");
+
+	private final int users;
+	private final long rampUpMillis;
+	private final long durationMillis;
+	private final long thinkTimeMillis;
+
+	private final Map<String, LatencyHistogram> stepLatency = new LinkedHashMap<>();
+	private final LatencyHistogram checkoutLatency = new LatencyHistogram();
+	private final AtomicLong checkouts = new AtomicLong();
+	private final AtomicLong steadyCheckouts = new AtomicLong();
+	private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<String> firstErrors = new ConcurrentLinkedQueue<>();
+	private long start;
+
+	public LoadRunner(int users, long rampUpMillis, long durationMillis, long thinkTimeMillis) {
+		this.users = users;
+		this.rampUpMillis = rampUpMillis;
+		this.durationMillis = durationMillis;
+		this.thinkTimeMillis = thinkTimeMillis;
+		for (String step : STEPS) {
+			stepLatency.put(step, new LatencyHistogram());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		// Load runs are headless and skip the per-command instrumentation unless asked for
+		defaultProperty("browser.mode", "headless");
+		defaultProperty("timing.enabled", "false");
+		defaultProperty("vitals.enabled", "false");
+		defaultProperty("pool.warmup", "0");
+
+		int users = ConfigReader.getInt("load.users", 5);
+		System.setProperty("pool.size", String.valueOf(users));
+		LoadRunner runner = new LoadRunner(users, ConfigReader.getInt("load.rampUp", 30) * 1000L,
+				ConfigReader.getInt("load.duration", 120) * 1000L, ConfigReader.getInt("load.thinkTimeMs", 1000));
+
+		LocalSwagLabsServer.startIfConfigured();
+		try {
+			runner.run();
+		} finally {
+			DriverFactory.shutdownPool();
+			LocalSwagLabsServer.stopIfRunning();
+		}
+		runner.printSummary();
+		runner.writeSummary(SUMMARY_FILE);
+	}
+
+	public void run() throws InterruptedException {
+		DriverFactory.initPool();
+		System.out.printf("Load: %d user(s), ramp-up %d s, duration %d s, think time %d ms against %s%n", users,
+				rampUpMillis / 1000, durationMillis / 1000, thinkTimeMillis, ConfigReader.getProperty("baseUrl"));
+		start = System.currentTimeMillis();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			long delay = users == 1 ? 0 : rampUpMillis * i / (users - 1);
+			Thread thread = new Thread(() -> virtualUser(delay), "virtual-user-" + (i + 1));
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	private void virtualUser(long delay) {
+		long deadline = start + durationMillis;
+		if (!pause(start + delay - System.currentTimeMillis())) {
+			return;
+		}
+		while (System.currentTimeMillis() < deadline) {
+			long iterationStart = System.nanoTime();
+			boolean healthy = true;
+			try {
+				checkout(DriverFactory.startSession());
+				long finished = System.currentTimeMillis();
+				checkoutLatency.recordSince(iterationStart);
+				if (finished <= deadline) {
+					checkouts.incrementAndGet();
+					if (finished - start > rampUpMillis) {
+						steadyCheckouts.incrementAndGet();
+					}
+				}
+			} catch (StepFailure e) {
+				healthy = false;
+				failures.computeIfAbsent(e.step, key -> new AtomicLong()).incrementAndGet();
+				if (firstErrors.size() < 10) {
+					// Selenium messages carry several lines of build and system info
+					firstErrors.add(Thread.currentThread().getName() + " " + e.step + ": "
+							+ String.valueOf(e.getCause()).split("\\R")[0]);
+				}
+			} catch (RuntimeException e) {
+				// the pool could not provide a session; try again after the think time
+				healthy = false;
+				failures.computeIfAbsent("session", key -> new AtomicLong()).incrementAndGet();
+				System.out.println("⚠️ " + Thread.currentThread().getName() + " could not get a session: " + e);
+			} finally {
+				DriverFactory.endSession(healthy);
+			}
+			if (!think(deadline)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The happy path of CheckoutTest, step by step through the page objects.
+	 */
+	private void checkout(WebDriver driver) {
+		step("login", () -> {
+			driver.get(ConfigReader.getProperty("baseUrl"));
+			new LoginPage(driver).login(ConfigReader.getProperty("username", "standard_user"),
+					ConfigReader.getProperty("password", "secret_sauce"));
+			check(new InventoryPage(driver).isInventoryVisible(), "inventory not shown after login");
+		});
+		think();
+		step("addToCart", () -> {
+			InventoryPage inventoryPage = new InventoryPage(driver);
+			inventoryPage.addSpecificProductToCart(PRODUCT);
+			check(inventoryPage.getCartBadgeCount() == 1, "cart badge not updated");
+		});
+		think();
+		CartPage cartPage = new CartPage(driver);
+		step("cart", () -> {
+			cartPage.openCart();
+			check(cartPage.fetchUniqueCartItems().contains(PRODUCT), PRODUCT + " not in the cart");
+		});
+		think();
+		CheckoutPage checkoutPage = new CheckoutPage(driver);
+		step("checkoutInfo", () -> {
+			cartPage.clickCheckoutButton();
+			checkoutPage.isOnCheckoutInformationPage();
+			checkoutPage.fillCheckoutForm("Load", "User", "12345");
+		});
+		think();
+		step("overview", () -> {
+			checkoutPage.clickContinue();
+			checkoutPage.isOnOverviewPage();
+		});
+		think();
+		step("finish", () -> {
+			checkoutPage.clickFinish();
+			checkoutPage.isCompleted();
+		});
+	}
+
+	private void step(String name, Runnable action) {
+		long stepStart = System.nanoTime();
+		try {
+			action.run();
+		} catch (RuntimeException | AssertionError e) {
+			throw new StepFailure(name, e);
+		}
+		stepLatency.get(name).recordSince(stepStart);
+	}
+
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+
+	private void think() {
+		think(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Sleeps 50-150% of the think time, at most until the deadline.
+	 * @return false when the deadline has passed or the user was interrupted
+	 */
+	private boolean think(long deadline) {
+		if (thinkTimeMillis <= 0) {
+			return System.currentTimeMillis() < deadline;
+		}
+		long millis = ThreadLocalRandom.current().nextLong(thinkTimeMillis / 2, thinkTimeMillis * 3 / 2 + 1);
+		return pause(Math.min(millis, deadline - System.currentTimeMillis())) && System.currentTimeMillis() < deadline;
+	}
+
+	private static boolean pause(long millis) {
+		if (millis <= 0) {
+			return true;
+		}
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private double perMinute(long count, long millis) {
+		return millis <= 0 ? 0 : count * 60_000.0 / millis;
+	}
+
+	public void printSummary() {
+		System.out.printf("Load: %d checkout(s) in %d s = %.1f checkouts/min (%.1f/min after ramp-up)%n",
+				checkouts.get(), durationMillis / 1000, perMinute(checkouts.get(), durationMillis),
+				perMinute(steadyCheckouts.get(), durationMillis - rampUpMillis));
+		System.out.println("Load checkout incl. think time: " + checkoutLatency);
+		stepLatency.forEach((step, latency) -> System.out.println("Load step " + step + ": " + latency));
+		if (!failures.isEmpty()) {
+			System.out.println("❌ Load failures by step: " + failures);
+			firstErrors.forEach(error -> System.out.println("   " + error));
+		}
+	}
+
+	public void writeSummary(Path file) throws IOException {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("users", users);
+		summary.put("rampUpSeconds", rampUpMillis / 1000);
+		summary.put("durationSeconds", durationMillis / 1000);
+		summary.put("thinkTimeMs", thinkTimeMillis);
+		summary.put("baseUrl", ConfigReader.getProperty("baseUrl"));
+		summary.put("checkouts", checkouts.get());
+		summary.put("checkoutsPerMinute", perMinute(checkouts.get(), durationMillis));
+		summary.put("steadyCheckoutsPerMinute", perMinute(steadyCheckouts.get(), durationMillis - rampUpMillis));
+		summary.put("checkout", distribution(checkoutLatency));
+		Map<String, Object> steps = new LinkedHashMap<>();
+		stepLatency.forEach((step, latency) -> steps.put(step, distribution(latency)));
+		summary.put("steps", steps);
+		Map<String, Long> failed = new LinkedHashMap<>();
+		failures.forEach((step, count) -> failed.put(step, count.get()));
+		summary.put("failures", failed);
+
+		Files.createDirectories(file.getParent());
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+				JsonOutput out = new Json().newOutput(writer)) {
+			out.write(summary);
+		}
+		System.out.println("Load summary written to " + file);
+	}
+
+	private static Map<String, Object> distribution(LatencyHistogram latency) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("count", latency.getCount());
+		values.put("meanMs", latency.getMeanMillis());
+		values.put("p50Ms", latency.getPercentileMillis(50));
+		values.put("p90Ms", latency.getPercentileMillis(90));
+		values.put("p95Ms", latency.getPercentileMillis(95));
+		values.put("p99Ms", latency.getPercentileMillis(99));
+		values.put("maxMs", latency.getMaxMillis());
+		return values;
+	}
+
+	private static void defaultProperty(String key, String value) {
+		if (System.getProperty(key) == null) {
+			System.setProperty(key, value);
+		}
+	}
+
+	private static class StepFailure extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private final String step;
+
+		StepFailure(String step, Throwable cause) {
+			super(step + " failed", cause);
+			this.step = step;
+		}
+	}
+}
@@ -0,0 +1,466 @@
+package runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import com.aventstack.extentreports.ExtentReports;
+
+import utils.ConfigReader;
+import utils.ExtentManager;
+
+/**
+ * Runs a TestNG suite split into N shards, each in its own JVM, and merges the
+ * results into one report.
+ *
+ * The suite is cut into units: all regular test methods of a class stay
+ * together (so dependsOnMethods keeps working), and every data-provider row is
+ * a unit of its own. Units are assigned longest first to the least loaded
+ * shard, using the durations of previous runs from shard-timings.properties.
+ * Each shard gets its own suite file (rows are selected with invocation-numbers)
+ * and runs as a forked JVM in target/shards/shard-N, standing in for a CI node.
+ * Afterwards the Extent reports, results.jsonl, screenshots and Allure results
+ * are merged into the usual locations and the timing history is updated.
+ *
+ * Usage: mvn test-compile exec:exec -Pshard -Dshards=4
+ * Program arguments: [suite.xml] [shards] [-Dkey=value passed to every shard ...]
+ */
+public class ShardRunner {
+
+	private static final Path SHARD_ROOT = Paths.get("target", "shards");
+	private static final long DEFAULT_METHOD_MILLIS = 5000;
+
+	public static void main(String[] args) throws Exception {
+		List<String> positional = new ArrayList<>();
+		List<String> forwarded = new ArrayList<>();
+		// Maven passes all shard settings as one argument, so split on whitespace
+		for (String arg : String.join(" ", args).trim().split("\\s+")) {
+			if (arg.startsWith("-D")) {
+				forwarded.add(arg);
+			} else if (!arg.isEmpty()) {
+				positional.add(arg);
+			}
+		}
+		String suiteFile = positional.size() > 0 ? positional.get(0) : System.getProperty("suiteXmlFile", "testng.xml");
+		int shards = Integer.parseInt(positional.size() > 1 ? positional.get(1) : System.getProperty("shards", "2"));
+		Path history = Paths.get(System.getProperty("shard.history", "shard-timings.properties"));
+
+		System.exit(new ShardRunner().run(suiteFile, shards, forwarded, history));
+	}
+
+	/**
+	 * Key of a data-provider row in the timing history. Shared with
+	 * listeners.ShardTimingRecorder, which only sees the row's parameters.
+	 */
+	public static String historyKey(String className, String methodName, Object[] parameters) {
+		return className + "." + methodName + Arrays.deepToString(parameters);
+	}
+
+	int run(String suiteFile, int shardCount, List<String> forwarded, Path historyFile) throws Exception {
+		XmlSuite suite = new Parser(suiteFile).parseToList().get(0);
+		Properties history = load(historyFile);
+		List<Unit> units = collectUnits(suite);
+		estimate(units, history);
+
+		List<Shard> shards = plan(units, Math.max(1, Math.min(shardCount, units.size())));
+		deleteRecursively(SHARD_ROOT);
+		for (Shard shard : shards) {
+			shard.writeSuite(suite);
+		}
+		System.out.println("Sharding " + units.size() + " units of " + suiteFile + " into " + shards.size() + " shard(s):");
+		shards.forEach(shard -> System.out.println("  " + shard));
+
+		List<String> jvmArgs = new ArrayList<>(forwarded);
+		jvmArgs.add("-Dreport.json=true");
+		if (forwarded.stream().noneMatch(arg -> arg.startsWith("-Dvitals.baseline="))) {
+			// every shard compares with, and adds to, the web vitals baseline of the project
+			jvmArgs.add("-Dvitals.baseline="
+					+ Paths.get(ConfigReader.getProperty("vitals.baseline", "web-vitals-baseline")).toAbsolutePath());
+		}
+		if (forwarded.stream().noneMatch(arg -> arg.startsWith("-Dthread.count="))) {
+			// shards share the machine's cores instead of each one claiming all of them
+			int cores = Runtime.getRuntime().availableProcessors();
+			jvmArgs.add("-Dthread.count=" + Math.max(1, cores / shards.size()));
+		}
+
+		long start = System.nanoTime();
+		for (Shard shard : shards) {
+			shard.start(jvmArgs);
+		}
+		int failed = 0;
+		for (Shard shard : shards) {
+			int exit = shard.await();
+			System.out.printf("  shard %d finished in %.1f s (planned %.1f s), exit code %d%n", shard.index,
+					shard.wallMillis / 1000.0, shard.plannedMillis / 1000.0, exit);
+			if (exit != 0) {
+				failed++;
+			}
+		}
+		System.out.printf("All shards finished in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+		merge(shards);
+		updateHistory(shards, history, historyFile);
+		return failed == 0 ? 0 : 1;
+	}
+
+	/**
+	 * One unit per class for its regular test methods, one per data-provider row.
+	 */
+	private List<Unit> collectUnits(XmlSuite suite) throws Exception {
+		List<Unit> units = new ArrayList<>();
+		for (XmlTest test : suite.getTests()) {
+			for (XmlClass xmlClass : test.getXmlClasses()) {
+				Class<?> testClass = Class.forName(xmlClass.getName());
+				Set<String> included = xmlClass.getIncludedMethods().stream().map(XmlInclude::getName)
+						.collect(Collectors.toSet());
+				Set<String> dependedOn = new TreeSet<>();
+				List<Method> methods = new ArrayList<>();
+				for (Method method : testClass.getMethods()) {
+					Test annotation = method.getAnnotation(Test.class);
+					if (annotation == null || !annotation.enabled()
+							|| (!included.isEmpty() && !included.contains(method.getName()))
+							|| xmlClass.getExcludedMethods().contains(method.getName())) {
+						continue;
+					}
+					methods.add(method);
+					dependedOn.addAll(Arrays.asList(annotation.dependsOnMethods()));
+				}
+				methods.sort(Comparator.comparing(Method::getName));
+
+				Unit classUnit = new Unit(test.getName(), testClass.getName(), null, -1);
+				for (Method method : methods) {
+					Test annotation = method.getAnnotation(Test.class);
+					List<Object[]> rows = annotation.dataProvider().isEmpty() || dependedOn.contains(method.getName())
+							? null : rowsOf(testClass, annotation);
+					if (rows == null) {
+						classUnit.methods.add(method.getName());
+						continue;
+					}
+					for (int row = 0; row < rows.size(); row++) {
+						Unit rowUnit = new Unit(test.getName(), testClass.getName(), method.getName(), row);
+						rowUnit.historyKeys.add(historyKey(testClass.getName(), method.getName(), rows.get(row)));
+						units.add(rowUnit);
+					}
+				}
+				if (!classUnit.methods.isEmpty()) {
+					classUnit.historyKeys.add(testClass.getName());
+					units.add(classUnit);
+				}
+			}
+		}
+		return units;
+	}
+
+	/**
+	 * Rows of the method's data provider, or null when they cannot be
+	 * listed up front (the method then runs whole with its class).
+	 */
+	private List<Object[]> rowsOf(Class<?> testClass, Test annotation) {
+		Class<?> providerClass = annotation.dataProviderClass() == Object.class ? testClass : annotation.dataProviderClass();
+		for (Method method : providerClass.getMethods()) {
+			DataProvider provider = method.getAnnotation(DataProvider.class);
+			if (provider == null || method.getParameterCount() > 0) {
+				continue;
+			}
+			String name = provider.name().isEmpty() ? method.getName() : provider.name();
+			if (!name.equals(annotation.dataProvider())) {
+				continue;
+			}
+			try {
+				Object instance = Modifier.isStatic(method.getModifiers()) ? null
+						: providerClass.getDeclaredConstructor().newInstance();
+				Object data = method.invoke(instance);
+				List<Object[]> rows = new ArrayList<>();
+				if (data instanceof Object[][]) {
+					rows.addAll(Arrays.asList((Object[][]) data));
+				} else if (data instanceof Iterator) {
+					((Iterator<?>) data).forEachRemaining(row -> rows.add((Object[]) row));
+				} else {
+					return null;
+				}
+				return rows;
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				System.out.println("⚠️ Not splitting rows of " + name + ": " + e);
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Uses the recorded duration of each unit; units without history are
+	 * estimated from the average duration per test method seen so far.
+	 */
+	private void estimate(List<Unit> units, Properties history) {
+		long knownMillis = 0;
+		int knownMethods = 0;
+		for (Unit unit : units) {
+			Long recorded = unit.recorded(history);
+			if (recorded != null) {
+				knownMillis += recorded;
+				knownMethods += unit.methodCount();
+			}
+		}
+		long perMethod = knownMethods == 0 ? DEFAULT_METHOD_MILLIS : Math.max(1, knownMillis / knownMethods);
+		for (Unit unit : units) {
+			Long recorded = unit.recorded(history);
+			unit.estimateMillis = recorded != null ? recorded : perMethod * unit.methodCount();
+		}
+	}
+
+	/**
+	 * Longest processing time first: each unit goes to the shard with the least planned time.
+	 */
+	private List<Shard> plan(List<Unit> units, int shardCount) {
+		List<Shard> shards = new ArrayList<>();
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new Shard(i));
+		}
+		units.stream().sorted(Comparator.comparingLong((Unit unit) -> unit.estimateMillis).reversed())
+				.forEach(unit -> shards.stream().min(Comparator.comparingLong((Shard shard) -> shard.plannedMillis))
+						.get().add(unit));
+		shards.removeIf(shard -> shard.units.isEmpty());
+		return shards;
+	}
+
+	private void merge(List<Shard> shards) throws IOException {
+		ExtentReports report = ExtentManager.createReport();
+		Path results = Paths.get("reports", "results.jsonl");
+		Files.createDirectories(results.getParent());
+		try (OutputStream out = Files.newOutputStream(results)) {
+			for (Shard shard : shards) {
+				Path archive = shard.dir.resolve(ExtentManager.JSON_ARCHIVE);
+				if (Files.exists(archive)) {
+					report.createDomainFromJsonArchive(archive.toFile());
+				}
+				Path shardResults = shard.dir.resolve(results);
+				if (Files.exists(shardResults)) {
+					Files.copy(shardResults, out);
+				}
+				copyTree(shard.dir.resolve("reports/screenshots"), Paths.get("reports/screenshots"));
+				copyTree(shard.dir.resolve("allure-results"), Paths.get("allure-results"));
+				copyTree(shard.dir.resolve("target/allure-results"), Paths.get("target/allure-results"));
+				Path latency = shard.dir.resolve("reports/step-latency.json");
+				if (Files.exists(latency)) {
+					Files.copy(latency, Paths.get("reports", "step-latency-shard-" + shard.index + ".json"),
+							StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		}
+		report.flush();
+		System.out.println("✅ Merged shard reports into reports/extent-report.html");
+	}
+
+	private void updateHistory(List<Shard> shards, Properties history, Path historyFile) throws IOException {
+		for (Shard shard : shards) {
+			Properties timings = load(shard.timingsFile());
+			timings.stringPropertyNames().forEach(key -> history.setProperty(key, timings.getProperty(key)));
+		}
+		try (OutputStream out = Files.newOutputStream(historyFile)) {
+			history.store(out, "Duration in ms of each shard unit in the latest sharded run");
+		}
+	}
+
+	private static Properties load(Path file) throws IOException {
+		Properties properties = new Properties();
+		if (Files.exists(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				properties.load(in);
+			}
+		}
+		return properties;
+	}
+
+	private static void copyTree(Path source, Path target) throws IOException {
+		if (!Files.isDirectory(source)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(source)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Path destination = target.resolve(source.relativize(file).toString());
+				if (Files.isDirectory(file)) {
+					Files.createDirectories(destination);
+				} else if (!Files.exists(destination)) {
+					Files.copy(file, destination);
+				}
+			}
+		}
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		if (!Files.exists(dir)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	/**
+	 * A class's regular test methods, or a single data-provider row (row &gt;= 0).
+	 */
+	private static final class Unit {
+		private final String testName;
+		private final String className;
+		private final String method;
+		private final int row;
+		private final List<String> methods = new ArrayList<>();
+		private final List<String> historyKeys = new ArrayList<>();
+		private long estimateMillis;
+
+		Unit(String testName, String className, String method, int row) {
+			this.testName = testName;
+			this.className = className;
+			this.method = method;
+			this.row = row;
+		}
+
+		int methodCount() {
+			return row >= 0 ? 1 : methods.size();
+		}
+
+		Long recorded(Properties history) {
+			String value = history.getProperty(historyKeys.get(0));
+			return value == null || Long.parseLong(value) <= 0 ? null : Long.valueOf(value);
+		}
+	}
+
+	private static final class Shard {
+		private final int index;
+		private final Path dir;
+		private final List<Unit> units = new ArrayList<>();
+		private long plannedMillis;
+		private long wallMillis;
+		private Process process;
+		private long startNanos;
+
+		Shard(int index) {
+			this.index = index;
+			this.dir = SHARD_ROOT.resolve("shard-" + index).toAbsolutePath();
+		}
+
+		void add(Unit unit) {
+			units.add(unit);
+			plannedMillis += unit.estimateMillis;
+		}
+
+		Path suiteFile() {
+			return dir.resolve("testng-shard-" + index + ".xml");
+		}
+
+		Path timingsFile() {
+			return dir.resolve("shard-timings.properties");
+		}
+
+		/**
+		 * Writes a copy of the suite that only contains this shard's units.
+		 */
+		void writeSuite(XmlSuite original) throws IOException {
+			// test -> class -> method -> rows (empty = every invocation)
+			Map<String, Map<String, Map<String, List<Integer>>>> selection = new LinkedHashMap<>();
+			for (Unit unit : units) {
+				Map<String, List<Integer>> methods = selection.computeIfAbsent(unit.testName, key -> new LinkedHashMap<>())
+						.computeIfAbsent(unit.className, key -> new LinkedHashMap<>());
+				if (unit.row >= 0) {
+					methods.computeIfAbsent(unit.method, key -> new ArrayList<>()).add(unit.row);
+				} else {
+					unit.methods.forEach(name -> methods.put(name, new ArrayList<>()));
+				}
+			}
+
+			XmlSuite suite = new XmlSuite();
+			suite.setName(original.getName() + " (shard " + index + ")");
+			suite.setListeners(new ArrayList<>(original.getListeners()));
+			suite.setParameters(original.getParameters());
+			for (XmlTest originalTest : original.getTests()) {
+				Map<String, Map<String, List<Integer>>> classes = selection.get(originalTest.getName());
+				if (classes == null) {
+					continue;
+				}
+				XmlTest test = new XmlTest(suite);
+				test.setName(originalTest.getName());
+				test.setParameters(originalTest.getLocalParameters());
+				List<XmlClass> xmlClasses = new ArrayList<>();
+				classes.forEach((className, methods) -> {
+					XmlClass xmlClass = new XmlClass(className, false);
+					List<XmlInclude> includes = new ArrayList<>();
+					methods.forEach((name, rows) -> includes.add(new XmlInclude(name, rows, includes.size())));
+					xmlClass.setIncludedMethods(includes);
+					xmlClasses.add(xmlClass);
+				});
+				test.setXmlClasses(xmlClasses);
+			}
+			Files.createDirectories(dir);
+			Files.write(suiteFile(), suite.toXml().getBytes(StandardCharsets.UTF_8));
+		}
+
+		void start(List<String> jvmArgs) throws IOException {
+			List<String> command = new ArrayList<>();
+			command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+			command.add("-cp");
+			command.add(absoluteClasspath());
+			command.addAll(jvmArgs);
+			command.add("-Dshard.index=" + index);
+			command.add("-Dshard.timings=" + timingsFile());
+			command.add("org.testng.TestNG");
+			command.add("-d");
+			command.add(dir.resolve("test-output").toString());
+			command.add("-listener");
+			command.add("listeners.ShardTimingRecorder");
+			command.add(suiteFile().toString());
+
+			startNanos = System.nanoTime();
+			process = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true)
+					.redirectOutput(dir.resolve("console.log").toFile()).start();
+		}
+
+		int await() throws InterruptedException {
+			int exit = process.waitFor();
+			wallMillis = (System.nanoTime() - startNanos) / 1_000_000;
+			return exit;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("shard %d: %d unit(s), planned %.1f s -> %s", index, units.size(),
+					plannedMillis / 1000.0, dir.resolve("console.log"));
+		}
+
+		// the shard runs in its own directory, so relative classpath entries must be made absolute
+		private static String absoluteClasspath() {
+			return Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+					.map(entry -> Paths.get(entry).toAbsolutePath().toString())
+					.collect(Collectors.joining(File.pathSeparator));
+		}
+	}
+}
@@ -1,13 +1,15 @@
 
 	
-	import io.github.bonigarcia.wdm.WebDriverManager;
 	import org.openqa.selenium.WebDriver;
 	import org.openqa.selenium.chrome.ChromeDriver;
 
+	import utils.BrowserType;
+	import utils.DriverBinaryResolver;
+
 
 public class test {
 	    public static void main(String[] args) {
-	        WebDriverManager.chromedriver().setup(); // Auto-downloads matching driver
+	        DriverBinaryResolver.resolve(BrowserType.CHROME); // Local chromedriver, downloaded only if none is cached
 	        WebDriver driver = new ChromeDriver();
 	        driver.get("https://www.google.com");
 	    }
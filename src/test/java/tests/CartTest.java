@@ -10,8 +10,6 @@ import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import pages.CartPage;
 import pages.InventoryPage;
-import pages.LoginPage;
-import utils.ConfigReader;
 
 public class CartTest extends BaseTest {
 
@@ -19,11 +17,10 @@ public class CartTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(priority = 1)
 	public void sanityTest_CartPage() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
+		seedCart("Sauce Labs Bolt T-Shirt");
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		inventoryPage.addSpecificProductToCart("Sauce Labs Bolt T-Shirt");
 		int cartIconCount = inventoryPage.getCartBadgeCount();
 
 		CartPage cartPage = new CartPage(getDriver());
@@ -36,7 +33,7 @@ public class CartTest extends BaseTest {
 
 		Assert.assertTrue(cartPage.checkCheckoutButtonVisibility(), "Checkout button is clicable");
 
-		test.pass("Sanity test completed");
+		getTest().pass("Sanity test completed");
 
 	}
 
@@ -44,12 +41,9 @@ public class CartTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(groups = { "Regression", "cart", "integrity" })
 	public void addMultipleItems_displaysAllItems() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
-		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		inventoryPage.addSpecificProductToCart("Sauce Labs Bike Light");
-		inventoryPage.addSpecificProductToCart("Sauce Labs Backpack");
+		seedCart("Sauce Labs Bike Light", "Sauce Labs Backpack");
 
 		CartPage cartPage = new CartPage(getDriver());
 		cartPage.openCart();
@@ -57,7 +51,7 @@ public class CartTest extends BaseTest {
 		int unique = cartPage.getCartItemCount();
 
 		Assert.assertEquals(unique, 2, "Multiple different items not show up correctly");
-		test.pass("Multiple different items show up correctly");
+		getTest().pass("Multiple different items show up correctly");
 
 	}
 
@@ -66,13 +60,10 @@ public class CartTest extends BaseTest {
 	@Test(groups = { "Regression", "cart", "remove-flow" })
 	public void removeItem_updatesRowCount() {
 		// Step 1: Open site and log in
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
-		// Step 2: Add two products
-		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		inventoryPage.addSpecificProductToCart("Sauce Labs Bike Light");
-		inventoryPage.addSpecificProductToCart("Sauce Labs Backpack");
+		// Step 2: Put two products in the cart
+		seedCart("Sauce Labs Bike Light", "Sauce Labs Backpack");
 
 		// Step 3: Navigate to Cart
 		CartPage cartPage = new CartPage(getDriver());
@@ -93,7 +84,7 @@ public class CartTest extends BaseTest {
 		Assert.assertEquals(afterRemove, beforeRemove - 1, "Item count did not decrease as expected");
 
 		// Step 8: Report test pass
-		test.pass("✅ Removed one product from cart → item count decreased by 1");
+		getTest().pass("✅ Removed one product from cart → item count decreased by 1");
 	}
 	
 	/*
@@ -110,12 +101,9 @@ public class CartTest extends BaseTest {
 	@Severity(SeverityLevel.NORMAL)
 	@Test(groups = { "Regression", "cart", "pricing" })
 	public void verifyPriceCalculation_cartPage() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
-		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		inventoryPage.addSpecificProductToCart("Sauce Labs Bike Light");
-		inventoryPage.addSpecificProductToCart("Sauce Labs Backpack");
+		seedCart("Sauce Labs Bike Light", "Sauce Labs Backpack");
 
 		CartPage cartPage = new CartPage(getDriver());
 		cartPage.openCart();
@@ -126,7 +114,7 @@ public class CartTest extends BaseTest {
 
 		Assert.assertEquals(total, 39.98, 0.01, "Cart total price is incorrect");
 
-		test.pass("✅ Total item price on Cart Page calculated correctly");
+		getTest().pass("✅ Total item price on Cart Page calculated correctly");
 
 	}
 	
@@ -134,11 +122,9 @@ public class CartTest extends BaseTest {
 	@Severity(SeverityLevel.NORMAL)
 	@Test(groups = {"Regression", "cart", "navigation"})
 	public void continueShopping_navigatesToInventory() {
-		 getDriver().get(ConfigReader.getProperty("baseUrl"));
-		    new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		 loginAs("standard_user", "secret_sauce");
 
-		    InventoryPage inventoryPage = new InventoryPage(getDriver());
-		    inventoryPage.addSpecificProductToCart("Sauce Labs Backpack");
+		    seedCart("Sauce Labs Backpack");
 
 		    CartPage cartPage = new CartPage(getDriver());
 		    cartPage.openCart();
@@ -147,6 +133,6 @@ public class CartTest extends BaseTest {
 		    String currentUrl = getDriver().getCurrentUrl();
 		    Assert.assertTrue(currentUrl.contains("inventory.html"), "Continue Shopping did not return to inventory");
 
-		    test.pass("✅ 'Continue Shopping' button navigated to Inventory page successfully");
+		    getTest().pass("✅ 'Continue Shopping' button navigated to Inventory page successfully");
 	}
 }
@@ -1,31 +1,39 @@
 package tests;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.testng.Assert;
 import org.testng.annotations.*;
 
 import base.BaseTest;
+import data.FieldCombinations;
+import data.TestData;
 import io.qameta.allure.*;
 import pages.CartPage;
 import pages.CheckoutPage;
 import pages.InventoryPage;
-import pages.LoginPage;
-import utils.ConfigReader;
 
 public class CheckoutTest extends BaseTest {
 
-	@Test(dataProvider = "checkoutInfoData", groups = { "DDT", "Checkout", "Validation" })
-	@Description("Data-driven test for Checkout Info page form validation")
-	@Severity(SeverityLevel.CRITICAL)
-	@DataProvider(name = "checkoutInfoData")
-	public Object[][] getCheckoutFormData() {
-		return new Object[][] { { "John", "Doe", "12345", true }, // ✅ Valid input
+	// data.checkoutInfoData=generated crosses the validation cases of all three fields
+	@DataProvider(name = "checkoutInfoData", parallel = true)
+	public Iterator<Object[]> getCheckoutFormData() {
+		Object[][] builtin = new Object[][] { { "John", "Doe", "12345", true }, // ✅ Valid input
 				{ "", "Doe", "12345", false }, // ❌ Missing first name
 				{ "John", "", "12345", false }, // ❌ Missing last name
 				{ "John", "Doe", "", false }, // ❌ Missing zip
 				{ "", "", "", false } // ❌ All fields blank
 		};
+		return TestData.rows("checkoutInfoData", builtin,
+				() -> new FieldCombinations(
+						Arrays.asList(FieldCombinations.validationValues("John"),
+								FieldCombinations.validationValues("Doe"), FieldCombinations.validationValues("12345")),
+						// the form only rejects empty fields
+						values -> new Object[] { values[0], values[1], values[2],
+								!values[0].isEmpty() && !values[1].isEmpty() && !values[2].isEmpty() }),
+				String.class, String.class, String.class, boolean.class);
 	}
 
 	@Test(dataProvider = "checkoutInfoData", groups = { "DDT", "Checkout", "Validation" })
@@ -33,11 +41,9 @@ public class CheckoutTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	public void checkoutInformationPage(String first, String last, String zip, boolean shouldSucceed) {
 		// getDriver().manage().deleteAllCookies(); // optional: clear session
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
-		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		inventoryPage.addSpecificProductToCart("Sauce Labs Bolt T-Shirt");
+		seedCart("Sauce Labs Bolt T-Shirt");
 
 		CartPage cartPage = new CartPage(getDriver());
 		cartPage.openCart();
@@ -65,14 +71,14 @@ public class CheckoutTest extends BaseTest {
 			Assert.assertFalse(errorVisible, "❌ Unexpected error for valid data: " + testCaseDesc);
 			Assert.assertTrue(getDriver().getCurrentUrl().contains("checkout-step-two.html"),
 					"Did not proceed to Overview");
-			test.pass("✅ Form accepted valid data: " + testCaseDesc);
+			getTest().pass("✅ Form accepted valid data: " + testCaseDesc);
 		} else {
 			Assert.assertTrue(errorVisible, "❌ Error message not shown for invalid input: " + testCaseDesc);
-			test.pass("✅ Error message shown as expected for invalid input: " + testCaseDesc);
+			getTest().pass("✅ Error message shown as expected for invalid input: " + testCaseDesc);
 		}
 	}
 
-	@DataProvider(name = "checkoutOverviewData")
+	@DataProvider(name = "checkoutOverviewData", parallel = true)
 	public Object[][] getOverviewData() {
 		return new Object[][] { { new String[] { "Sauce Labs Backpack" }, 29.99 },
 				{ new String[] { "Sauce Labs Bike Light", "Sauce Labs Bolt T-Shirt" }, 25.98 },
@@ -84,17 +90,11 @@ public class CheckoutTest extends BaseTest {
 	@Test(groups = { "Sanity", "Checkout" }, dataProvider = "checkoutOverviewData")
 	public void sanityTest_CheckoutOverviewPage(String[] productNames, double expectedSubtotal) {
 		getDriver().manage().deleteAllCookies();
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
-		// Add product
-		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		for (String products : productNames) {
-			inventoryPage.addSpecificProductToCart(products);
-			System.out.println("🧪 Trying to add: " + products);
-			System.out.println("✅ Added to cart: " + products);
-
-		}
+		// Put products in the cart
+		seedCart(productNames);
+		System.out.println("✅ Seeded cart: " + String.join(", ", productNames));
 
 		// Navigate to cart
 		CartPage cartPage = new CartPage(getDriver());
@@ -137,7 +137,7 @@ public class CheckoutTest extends BaseTest {
 		Assert.assertTrue(getDriver().getCurrentUrl().contains("checkout-complete.html"),
 				"Order did not complete successfully");
 
-		test.pass("✅ DDT: Products [" + String.join(", ", productNames) + "] → Checkout complete with subtotal: $"
+		getTest().pass("✅ DDT: Products [" + String.join(", ", productNames) + "] → Checkout complete with subtotal: $"
 				+ expectedSubtotal);
 	}
 	@Description("Complete checkout page validation")
@@ -145,12 +145,11 @@ public class CheckoutTest extends BaseTest {
 	@Test
 	public void validateCheckoutCompletePage() {
 		getDriver().manage().deleteAllCookies();
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
-		// Add product
+		// Put product in the cart
+		seedCart("Sauce Labs Bolt T-Shirt");
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
-		inventoryPage.addSpecificProductToCart("Sauce Labs Bolt T-Shirt");
 
 		// Navigate to cart
 		CartPage cartPage = new CartPage(getDriver());
@@ -176,7 +175,7 @@ public class CheckoutTest extends BaseTest {
 		checkout.backToHome();
 		Assert.assertTrue(inventoryPage.isInventoryVisible(), "Back to home functionality failed");
 
-		test.pass("Checkout completed");
+		getTest().pass("Checkout completed");
 	}
 }
 	
@@ -0,0 +1,96 @@
+package tests;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import base.StubWebDriver;
+import utils.DriverFactory;
+import utils.PoolMetrics;
+
+/**
+ * Stress test for the parallel plumbing: many threads check sessions in and
+ * out of DriverFactory concurrently and every thread must only ever see the
+ * session it checked out. Uses stub drivers, so no browser is needed.
+ */
+public class DriverIsolationTest {
+
+	private static final int POOL_SIZE = 4;
+	private static final int MAX_REUSE = 5;
+	private static final int LOOK_AHEAD = 1;
+
+	private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger invocations = new AtomicInteger();
+
+	@BeforeClass
+	public void setupStubPool() {
+		System.setProperty("pool.size", String.valueOf(POOL_SIZE));
+		System.setProperty("pool.maxReuse", String.valueOf(MAX_REUSE));
+		System.setProperty("pool.lookAhead", String.valueOf(LOOK_AHEAD));
+		DriverFactory.initPool(StubWebDriver::new);
+	}
+
+	@Test(invocationCount = 500, threadPoolSize = 16)
+	public void sessionStaysBoundToItsThread() throws InterruptedException {
+		useSession();
+	}
+
+	@DataProvider(name = "rows", parallel = true)
+	public Object[][] rows() {
+		Object[][] rows = new Object[50][];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = new Object[] { i };
+		}
+		return rows;
+	}
+
+	// Rows of a parallel data provider run on their own threads and must each get a session of their own
+	@Test(dataProvider = "rows")
+	public void parallelRowGetsItsOwnSession(int row) throws InterruptedException {
+		useSession();
+	}
+
+	private void useSession() throws InterruptedException {
+		WebDriver driver = DriverFactory.startSession();
+		boolean healthy = invocations.incrementAndGet() % 10 != 0;
+		try {
+			Assert.assertTrue(leased.add(driver), "Session handed to two threads at the same time");
+			Assert.assertFalse(((StubWebDriver) driver).isQuit(), "Pool handed out a session that was quit");
+
+			for (int i = 0; i < 5; i++) {
+				driver.get("https://example.test/" + Thread.currentThread().getName());
+				Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+				Assert.assertSame(DriverFactory.getDriver(), driver, "Thread saw another thread's session");
+			}
+		} finally {
+			leased.remove(driver);
+			DriverFactory.endSession(healthy);
+		}
+		Assert.assertNull(DriverFactory.getDriver(), "Session still bound to the thread after endSession");
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void verifyPoolBounds() {
+		PoolMetrics metrics = DriverFactory.getPoolMetrics();
+		try {
+			Assert.assertEquals(metrics.getCheckouts(), invocations.get());
+			// look-ahead spares may exceed the pool size, checked-out sessions may not
+			Assert.assertTrue(metrics.getPeakLiveSessions() <= POOL_SIZE + LOOK_AHEAD,
+					"More live sessions than the pool size and look-ahead at some point: " + metrics);
+			Assert.assertTrue(metrics.getReuses() > 0, "Sessions were never reused: " + metrics);
+		} finally {
+			DriverFactory.shutdownPool();
+			System.clearProperty("pool.size");
+			System.clearProperty("pool.maxReuse");
+			System.clearProperty("pool.lookAhead");
+		}
+	}
+}
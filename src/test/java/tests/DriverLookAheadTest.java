@@ -0,0 +1,52 @@
+package tests;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import base.StubWebDriver;
+import utils.DriverPool;
+import utils.PoolMetrics;
+
+/**
+ * Serial run in which every test needs a fresh browser (reuse limit 1) and
+ * each browser takes 200 ms to start: with a look-ahead of one, every test
+ * after the first gets a session that started while the previous test ran.
+ * Uses stub drivers, so no browser is needed.
+ */
+public class DriverLookAheadTest {
+
+	private static final int TESTS = 5;
+	private static final long STARTUP_MILLIS = 200;
+
+	@Test
+	public void nextSessionStartsWhileTheCurrentTestRuns() throws InterruptedException {
+		DriverPool pool = new DriverPool(DriverLookAheadTest::slowStart, 1, 1, 30, 1);
+		try {
+			for (int i = 0; i < TESTS; i++) {
+				DriverPool.Session session = pool.checkout();
+				// the test itself outlasts a browser startup
+				Thread.sleep(STARTUP_MILLIS + 150);
+				pool.release(session, true);
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		PoolMetrics metrics = pool.getMetrics();
+		Assert.assertEquals(metrics.getPrewarmHits(), TESTS - 1, "Tests did not get the spare sessions: " + metrics);
+		Assert.assertTrue(metrics.getHiddenStartupMillis() > metrics.getExposedStartupMillis(),
+				"Less startup hidden than exposed: " + metrics);
+		Assert.assertTrue(metrics.getPeakLiveSessions() <= 2,
+				"More live sessions than the pool size and look-ahead at some point: " + metrics);
+	}
+
+	private static WebDriver slowStart() {
+		try {
+			Thread.sleep(STARTUP_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return new StubWebDriver();
+	}
+}
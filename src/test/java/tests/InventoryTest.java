@@ -10,8 +10,6 @@ import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import pages.InventoryPage;
-import pages.LoginPage;
-import utils.ConfigReader;
 import utils.ScreenshotUtil;
 
 public class InventoryTest extends BaseTest {
@@ -27,15 +25,14 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.NORMAL)
 	@Test(priority = 1, groups = { "inventory", "regression" })
 	public void getNumberOfProductsAvailableInInventoryPage() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventory = new InventoryPage(getDriver());
 		int productCount = inventory.getProductCount();
 
 		try {
 			Assert.assertTrue(productCount > 0, "Expected to list at least one product but got " + productCount);
-			test.pass("Product count displayed successfully: " + productCount);
+			getTest().pass("Product count displayed successfully: " + productCount);
 			System.out.println("Product count displayed successfully: " + productCount);
 		} catch (AssertionError e) {
 			ScreenshotUtil.captureScreenShots(getDriver(), "ProductCountFailed");
@@ -47,8 +44,7 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.NORMAL)
 	@Test(priority = 2, groups = { "inventory", "regression" })
 	public void getListofAvailableProductNameFromInventoryPage() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventory = new InventoryPage(getDriver());
 		List<String> productName = inventory.getProductName();
@@ -56,7 +52,7 @@ public class InventoryTest extends BaseTest {
 		try {
 			Assert.assertTrue(productName.size() > 0,
 					"Expected to get at least one product name but got " + productName.size());
-			test.pass("Product names retrieved: " + productName);
+			getTest().pass("Product names retrieved: " + productName);
 			System.out.println("Product names retrieved: " + productName);
 		} catch (AssertionError e) {
 			ScreenshotUtil.captureScreenShots(getDriver(), "ProductNamesFailed");
@@ -68,8 +64,7 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(priority = 3, groups = { "cart", "regression" })
 	public void addFirstProductToCartFromInventoryPage() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
 		inventoryPage.addFirstItemToCart();
@@ -80,8 +75,7 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.NORMAL)
 	@Test(dependsOnMethods = "addFirstProductToCartFromInventoryPage", groups = { "cart", "regression" })
 	public void addAllTheProductsToCartFromInventoryPage() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
 
@@ -89,7 +83,7 @@ public class InventoryTest extends BaseTest {
 		int actual = inventoryPage.addAllProduct();
 		try {
 			Assert.assertEquals(expected, actual, "Cart should reflect all added items");
-			test.pass("\"All products added to cart. Expected = Actual = \" + actual");
+			getTest().pass("\"All products added to cart. Expected = Actual = \" + actual");
 		} catch (AssertionError e) {
 			ScreenshotUtil.captureScreenShots(getDriver(), "BulkAddToCartFaild");
 			throw e;
@@ -103,8 +97,7 @@ public class InventoryTest extends BaseTest {
 	@Test(dependsOnMethods = { "addAllTheProductsToCartFromInventoryPage", "removeFirstItemFromCart" }, groups = {
 			"cart", "regression" })
 	public void removeAllTheProductsFromCart() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
 		int added = inventoryPage.addAllProduct();
@@ -113,7 +106,7 @@ public class InventoryTest extends BaseTest {
 
 		try {
 			Assert.assertEquals(removed, 0, "All the  cart items removed");
-			test.pass("All the products removed from cart");
+			getTest().pass("All the products removed from cart");
 
 		} catch (Exception e) {
 			ScreenshotUtil.captureScreenShots(getDriver(), "RemoveProductsFromCart");
@@ -126,8 +119,7 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(dependsOnMethods = "addFirstProductToCartFromInventoryPage", groups = { "cart", "regression" })
 	public void removeFirstItemFromCart() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
 		inventoryPage.addFirstItemToCart();
@@ -138,7 +130,7 @@ public class InventoryTest extends BaseTest {
 
 		try {
 			Assert.assertNotEquals(after, 0, "Before deleting operation count should be 1 after 0" + after);
-			test.pass("Removed first item from the cart");
+			getTest().pass("Removed first item from the cart");
 
 		} catch (Exception e) {
 			ScreenshotUtil.captureScreenShots(getDriver(), "Failed to remove first product from cart");
@@ -150,8 +142,7 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.NORMAL)
 	@Test(groups = { "cart", "regression" })
 	public void addSpecificProductToCart() {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
 		inventoryPage.removeAllTheProducts(); // Clean slate
@@ -164,7 +155,7 @@ public class InventoryTest extends BaseTest {
 		Assert.assertEquals(after, before + 1, "Cart count should increase by 1");
 	}
 
-	@DataProvider(name = "sortOptions")
+	@DataProvider(name = "sortOptions", parallel = true)
 	public Object[][] getSortOptions() {
 		return new Object[][] {
 				// {"<sortedText>", "<sortType>"//
@@ -176,8 +167,7 @@ public class InventoryTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(dataProvider = "sortOptions", groups = { "sort", "regression" })
 	public void testInventorySort(String sortText, String sortType) {
-		getDriver().get(ConfigReader.getProperty("baseUrl"));
-		new LoginPage(getDriver()).login("standard_user", "secret_sauce");
+		loginAs("standard_user", "secret_sauce");
 		InventoryPage inventoryPage = new InventoryPage(getDriver());
 		inventoryPage.selectSortOption(sortText);
 
@@ -202,7 +192,7 @@ public class InventoryTest extends BaseTest {
 		}
 
 		Assert.assertTrue(isSorted, "❌ Products not sorted correctly for: " + sortText);
-		test.pass("✅ Sort validated: " + sortText);
+		getTest().pass("✅ Sort validated: " + sortText);
 
 	}
 }
\ No newline at end of file
@@ -28,10 +28,10 @@ public class LoginTest extends BaseTest {
 
 		if (shouldLoginSucceed) {
 			Assert.assertTrue(inventory.isInventoryVisible());
-			test.pass("Login succeed for " + username);
+			getTest().pass("Login succeed for " + username);
 		} else {
 			Assert.assertTrue(inventory.isErrorDisplayed());
-			test.pass("Login failed for " + username);
+			getTest().pass("Login failed for " + username);
 		}
 	}
 